@@ -106,4 +106,29 @@ public class CommonFunc {
                 .map(s -> s.substring(0, 1).toUpperCase() + s.substring(1))
                 .collect(Collectors.joining());
     }
+
+    /**
+     * 首字母小写，例如实体名转为字段名: "UserInfo" -> "userInfo"
+     *
+     * @param input 原始字符串
+     * @return 首字母小写后的字符串
+     */
+    public static String lowerFirst(String input) {
+        if (input == null || input.isEmpty()) {
+            return input;
+        }
+        return input.substring(0, 1).toLowerCase() + input.substring(1);
+    }
+
+    /**
+     * 生成项目的根包名：basePackagePrefix + artifactId（小写，连字符替换为下划线）。
+     * <p>例如: "com.demo" + "gen-app" -> "com.demo.gen_app"</p>
+     *
+     * @param basePackagePrefix 配置中的包名前缀
+     * @param artifactId        项目的artifactId
+     * @return 项目根包名
+     */
+    public static String buildProjectPackage(String basePackagePrefix, String artifactId) {
+        return basePackagePrefix + "." + artifactId.toLowerCase().replace("-", "_");
+    }
 }
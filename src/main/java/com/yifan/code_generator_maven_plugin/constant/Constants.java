@@ -1,5 +1,6 @@
 package com.yifan.code_generator_maven_plugin.constant;
 
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -12,6 +13,69 @@ public final class Constants {
     public static final class TemplateConstants {
         public static final String FILE_TYPE_JAVA = "java";
         public static final String FILE_TYPE_RESOURCE = "resource";
+        /**
+         * 生成到项目根目录的可执行脚本
+         */
+        public static final String FILE_TYPE_SCRIPT = "script";
+        /**
+         * 生成到 src/test/java 下的测试代码（如JMH基准）
+         */
+        public static final String FILE_TYPE_TEST = "test";
+        /**
+         * 模板依赖的特性，只为启用了该特性的表生成
+         */
+        public static final String FEATURE_KEYSET = "keyset";
+        public static final String FEATURE_CACHE = "cache";
+        public static final String FEATURE_EXPORT = "export";
+        public static final String FEATURE_ASYNC = "async";
+        public static final String FEATURE_METRICS = "metrics";
+        public static final String FEATURE_FAST_STARTUP = "fast-startup";
+        public static final String FEATURE_NATIVE = "native";
+        public static final String FEATURE_AOT = "aot";
+        public static final String FEATURE_BENCHMARK = "benchmark";
+    }
+
+    public static final class PaginationConstants {
+        public static final String OFFSET = "offset";
+        public static final String KEYSET = "keyset";
+    }
+
+    /**
+     * 表关联的类型和加载方式
+     */
+    public static final class RelationConstants {
+        public static final String MANY_TO_ONE = "many-to-one";
+        public static final String ONE_TO_MANY = "one-to-many";
+        public static final String LAZY = "lazy";
+        public static final String EAGER = "eager";
+    }
+
+    /**
+     * 字段在列表查询中的匹配方式
+     */
+    public static final class SearchModeConstants {
+        public static final String EXACT = "exact";
+        public static final String PREFIX = "prefix";
+        public static final String RANGE = "range";
+        public static final String IN = "in";
+        public static final String FULLTEXT = "fulltext";
+        public static final String NONE = "none";
+        public static final Set<String> ALL = Set.of(EXACT, PREFIX, RANGE, IN, FULLTEXT, NONE);
+        /**
+         * 可以按范围查询的java类型
+         */
+        public static final Set<String> RANGE_JAVA_TYPES = Set.of(
+                "Long", "Integer", "Double", "Float", "BigDecimal", "LocalDate", "LocalDateTime", "Date");
+    }
+
+    public static final class ExecutionModeConstants {
+        public static final String PLATFORM = "platform";
+        public static final String VIRTUAL = "virtual";
+        public static final String ASYNC = "async";
+        /**
+         * 虚拟线程要求的最低Java版本
+         */
+        public static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
     }
 
     public static final class ConfigModeConstant {
@@ -38,10 +102,12 @@ public final class Constants {
         public static final String HANDLER = "handler";
         public static final String INTERCEPTOR = "interceptor";
         public static final String EXCEPTION = "exception";
+        public static final String CONVERTER = "converter";
     }
 
     public static final class FileConstant {
         public static final String JAVA_RESOURCE_PATH = "src/main/java/";
+        public static final String TEST_JAVA_PATH = "src/test/java/";
         public static final String RESOURCE_PATH = "src/main/resources/";
         public static final String MAPPER_PATH = "src/main/resources/mapper/";
         public static final String TEMPLATE_PATH = "code_generator/templates/";
@@ -57,6 +123,8 @@ public final class Constants {
         public static final String COLUMN_TYPE_NAME = "TYPE_NAME"; // Column name for ResultSet
         public static final String COLUMN_NAME = "COLUMN_NAME"; // Column name for ResultSet
         public static final String COLUMN_REMARKS = "REMARKS"; // Column name for ResultSet
+        public static final String INDEX_NAME = "INDEX_NAME"; // Column name for DatabaseMetaData.getIndexInfo ResultSet
+        public static final String ORDINAL_POSITION = "ORDINAL_POSITION"; // Column name for DatabaseMetaData.getIndexInfo ResultSet
         /**
          * A static final Set to store all base column names (converted to lowercase).
          * Benefits:
@@ -74,6 +142,24 @@ public final class Constants {
                 "updated_time",
                 "deleted",
                 "version");
+        public static final String ID = "id";
+        /**
+         * BaseEntity中的逻辑删除字段
+         */
+        public static final String DELETED = "deleted";
+        /**
+         * BaseEntity中字段（java字段名）对应的java类型
+         */
+        public static final Map<String, String> BASE_FIELD_JAVA_TYPES = Map.of(
+                "id", "Long",
+                "version", "Integer",
+                "deleted", "Integer",
+                "createTime", "LocalDateTime",
+                "createdBy", "Long",
+                "createdByName", "String",
+                "updatedTime", "LocalDateTime",
+                "updatedBy", "Long",
+                "updatedByName", "String");
     }
 
 }
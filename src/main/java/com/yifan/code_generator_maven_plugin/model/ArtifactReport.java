@@ -0,0 +1,22 @@
+package com.yifan.code_generator_maven_plugin.model;
+
+import lombok.Data;
+
+/**
+ * 依赖分析中单个已解析构件的信息
+ */
+@Data
+public class ArtifactReport {
+    private String coordinates;
+    private String scope;
+    /**
+     * 是否为直接声明的依赖
+     */
+    private boolean direct;
+    /**
+     * 由哪个直接依赖引入，直接依赖为空
+     */
+    private String pulledBy;
+    private long sizeBytes;
+    private int classCount;
+}
@@ -0,0 +1,36 @@
+package com.yifan.code_generator_maven_plugin.model;
+
+import com.yifan.code_generator_maven_plugin.constant.Constants;
+import lombok.Data;
+
+/**
+ * 生成项目的性能基线：每个实体一个JMH基准（Service和转换器，基于内存H2数据库），
+ * 以及一个基于Java HttpClient和虚拟线程的HTTP压测脚本，输出p50/p99延迟和吞吐量
+ */
+@Data
+public class BenchmarkConfig {
+    private boolean enabled;
+    /**
+     * 压测脚本默认的被测服务地址
+     */
+    private String loadTestBaseUrl = "http://localhost:8080";
+    /**
+     * 压测脚本默认的并发数（虚拟线程数）
+     */
+    private int loadTestConcurrency = 64;
+    /**
+     * 压测脚本默认的预热时长（秒），预热期间的请求不计入结果
+     */
+    private int loadTestWarmupSeconds = 5;
+    /**
+     * 压测脚本默认的压测时长（秒）
+     */
+    private int loadTestDurationSeconds = 30;
+
+    /**
+     * 模板、依赖及插件execution的feature是否由基准配置开启，目前只有benchmark
+     */
+    public boolean hasFeature(String feature) {
+        return Constants.TemplateConstants.FEATURE_BENCHMARK.equals(feature) && enabled;
+    }
+}
@@ -1,5 +1,6 @@
 package com.yifan.code_generator_maven_plugin.model;
 
+import com.yifan.code_generator_maven_plugin.constant.Constants;
 import lombok.Data;
 
 @Data
@@ -9,4 +10,19 @@ public class ColumnDefinition {
     private String dbType;
     private String javaType;
     private String comment;
+    /**
+     * 列表查询中的匹配方式：exact（等值）、prefix（LIKE 'x%'）、range（xxxFrom/xxxTo闭区间）、in（xxxList）、
+     * fulltext（MATCH ... AGAINST，并生成FULLTEXT索引）、none（不参与查询）；为空时String字段为prefix，其他为exact
+     */
+    private String searchMode;
+
+    /**
+     * 生效的匹配方式，未配置时按java类型取默认值
+     */
+    public String resolveSearchMode() {
+        if (searchMode == null || searchMode.isBlank()) {
+            return "String".equals(javaType) ? Constants.SearchModeConstants.PREFIX : Constants.SearchModeConstants.EXACT;
+        }
+        return searchMode.trim().toLowerCase();
+    }
 }
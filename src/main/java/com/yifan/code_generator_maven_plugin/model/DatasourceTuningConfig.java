@@ -0,0 +1,47 @@
+package com.yifan.code_generator_maven_plugin.model;
+
+import lombok.Data;
+
+/**
+ * 生成到application.yml中的连接池（HikariCP）和MySQL驱动调优参数
+ */
+@Data
+public class DatasourceTuningConfig {
+    private boolean enabled = true;
+    /**
+     * 部署环境的CPU核数，连接池大小按 核数 * 2 + 1 计算
+     */
+    private int targetCores = 4;
+    /**
+     * 显式指定连接池大小，为空时按targetCores计算
+     */
+    private Integer maximumPoolSize;
+    /**
+     * 最小空闲连接数，为空时与maximumPoolSize相同（固定大小的连接池）
+     */
+    private Integer minimumIdle;
+    private long connectionTimeoutMs = 3000;
+    private long idleTimeoutMs = 600000;
+    private long maxLifetimeMs = 1800000;
+    /**
+     * 连接泄漏检测阈值，0表示关闭
+     */
+    private long leakDetectionThresholdMs = 60000;
+    /**
+     * 是否在MySQL连接串上追加批量改写、预编译语句缓存等参数
+     */
+    private boolean mysqlDriverOptimizations = true;
+    private int prepStmtCacheSize = 250;
+    private int prepStmtCacheSqlLimit = 2048;
+
+    /**
+     * 实际使用的连接池大小
+     */
+    public int resolveMaximumPoolSize() {
+        return maximumPoolSize != null ? maximumPoolSize : Math.max(1, targetCores) * 2 + 1;
+    }
+
+    public int resolveMinimumIdle() {
+        return minimumIdle != null ? minimumIdle : resolveMaximumPoolSize();
+    }
+}
@@ -8,4 +8,8 @@ public class DependencyInfo {
     private String artifactId;
     private String version;
     private String scope;
+    /**
+     * 依赖对应的特性（如 cache），为空时总是添加，否则只在有表启用了该特性时添加
+     */
+    private String feature;
 }
@@ -0,0 +1,35 @@
+package com.yifan.code_generator_maven_plugin.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 依赖图分析结果，按解析后的依赖图哈希缓存
+ */
+@Data
+public class DependencyReport {
+    private String graphHash;
+    private long totalSizeBytes;
+    /**
+     * 按大小倒序排列的全部已解析构件
+     */
+    private List<ArtifactReport> artifacts = new ArrayList<>();
+    /**
+     * 同一artifactId出现在不同groupId或classifier下的构件
+     */
+    private List<String> duplicates = new ArrayList<>();
+    /**
+     * 声明版本与解析版本不一致的依赖，以及同名类出现在多个jar中的冲突
+     */
+    private List<String> conflicts = new ArrayList<>();
+    /**
+     * 声明了但编译后的代码中没有引用的直接依赖
+     */
+    private List<String> unusedDeclared = new ArrayList<>();
+    /**
+     * 不包含任何类的直接依赖（starter、BOM式聚合依赖），不参与未使用判断
+     */
+    private List<String> noClassDeclared = new ArrayList<>();
+}
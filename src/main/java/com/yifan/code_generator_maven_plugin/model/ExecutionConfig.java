@@ -0,0 +1,34 @@
+package com.yifan.code_generator_maven_plugin.model;
+
+import com.yifan.code_generator_maven_plugin.constant.Constants;
+import lombok.Data;
+
+/**
+ * 生成项目的请求执行方式：
+ * platform - 默认的Tomcat平台线程池，阻塞式MVC；
+ * virtual  - 开启Java 21虚拟线程（spring.threads.virtual.enabled），需要Java 21及以上；
+ * async    - 控制器方法返回CompletableFuture，在与连接池大小一致的线程池中执行
+ */
+@Data
+public class ExecutionConfig {
+    private String mode = Constants.ExecutionModeConstants.PLATFORM;
+    /**
+     * async模式下线程池的等待队列长度，队列满时拒绝请求
+     */
+    private int asyncQueueCapacity = 1000;
+
+    public boolean isVirtualThreads() {
+        return Constants.ExecutionModeConstants.VIRTUAL.equalsIgnoreCase(mode);
+    }
+
+    public boolean isAsync() {
+        return Constants.ExecutionModeConstants.ASYNC.equalsIgnoreCase(mode);
+    }
+
+    /**
+     * 模板的feature是否由执行方式开启，目前只有async
+     */
+    public boolean hasFeature(String feature) {
+        return Constants.TemplateConstants.FEATURE_ASYNC.equals(feature) && isAsync();
+    }
+}
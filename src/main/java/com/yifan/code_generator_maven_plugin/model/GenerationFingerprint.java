@@ -0,0 +1,25 @@
+package com.yifan.code_generator_maven_plugin.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * generate-code上一次完整执行时的输入指纹，用于判断本次是否可以直接跳过
+ */
+@Data
+public class GenerationFingerprint {
+    /**
+     * 用户配置、插件版本、自定义模板目录内容等本地输入的哈希
+     */
+    private String inputsHash;
+    /**
+     * 数据库表结构快照的校验和，没有读取数据库时为空
+     */
+    private String dbSnapshotChecksum;
+    /**
+     * 上一次执行的全部输出文件，任意一个被删除时需要重新生成
+     */
+    private List<String> outputs = new ArrayList<>();
+}
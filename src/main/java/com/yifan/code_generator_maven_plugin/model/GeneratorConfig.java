@@ -8,4 +8,35 @@ public class GeneratorConfig {
     private ModelSetting modelSettings;
     private PomSetting pomSettings;
     private SwaggerConfig swagger;
+    private DatasourceTuningConfig datasourceTuning;
+    private ExecutionConfig execution;
+    private MetricsConfig metrics;
+    private StartupConfig startup;
+    private BenchmarkConfig benchmark;
+
+    /**
+     * 是否有表或全局配置开启了该feature，feature为空时总是开启；多个feature用逗号分隔，任意一个开启即可
+     */
+    public boolean isFeatureEnabled(String feature) {
+        if (feature == null || feature.isBlank()) {
+            return true;
+        }
+        for (String single : feature.split(",")) {
+            String trimmed = single.trim();
+            if (hasGlobalFeature(trimmed)
+                    || (modelSettings != null && modelSettings.getTables().stream().anyMatch(t -> t.hasFeature(trimmed)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 不依赖具体表、由全局配置（execution、metrics、startup、benchmark）开启的feature
+     */
+    public boolean hasGlobalFeature(String feature) {
+        return (execution != null && execution.hasFeature(feature)) || (metrics != null && metrics.hasFeature(feature))
+                || (startup != null && startup.hasFeature(feature))
+                || (benchmark != null && benchmark.hasFeature(feature));
+    }
 }
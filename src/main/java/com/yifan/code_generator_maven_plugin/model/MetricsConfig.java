@@ -0,0 +1,23 @@
+package com.yifan.code_generator_maven_plugin.model;
+
+import com.yifan.code_generator_maven_plugin.constant.Constants;
+import lombok.Data;
+
+/**
+ * 生成项目的Micrometer指标：控制器和Service的@Timed、MyBatis语句耗时直方图及慢SQL日志
+ */
+@Data
+public class MetricsConfig {
+    private boolean enabled;
+    /**
+     * 慢SQL阈值（毫秒），超过时打印WARN日志，写入application.yml的 app.metrics.slow-query-threshold-ms
+     */
+    private long slowQueryThresholdMs = 500;
+
+    /**
+     * 模板的feature是否由指标配置开启，目前只有metrics
+     */
+    public boolean hasFeature(String feature) {
+        return Constants.TemplateConstants.FEATURE_METRICS.equals(feature) && enabled;
+    }
+}
@@ -11,5 +11,12 @@ public class PluginConfig {
     private String artifactId;
     private String version;
     private Map<String, Object> configuration;
+    /**
+     * 每个execution可以带feature键，只在该feature开启时添加
+     */
     private List<Map<String, Object>> executions;
+    /**
+     * 插件对应的特性，为空时总是添加，否则只在该特性开启时添加
+     */
+    private String feature;
 }
@@ -0,0 +1,53 @@
+package com.yifan.code_generator_maven_plugin.model;
+
+import com.yifan.code_generator_maven_plugin.constant.Constants;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * 表之间的关联，生成VO中的关联字段及对应的查询，避免逐行调用 getXxxById 产生 N+1 查询。
+ * many-to-one 的外键在当前表，one-to-many 的外键在关联表，外键字段都由SchemaSynchronizer生成索引
+ */
+@Data
+public class RelationConfig {
+    /**
+     * VO中的关联字段名，为空时 many-to-one 为关联实体名首字母小写，one-to-many 再加 List 后缀
+     */
+    private String name;
+    /**
+     * 关联类型：many-to-one 或 one-to-many
+     */
+    private String type;
+    /**
+     * 关联表的实体名，必须是modelSettings中配置的表
+     */
+    private String target;
+    /**
+     * 外键字段（java字段名，类型为Long），many-to-one 时为当前表的字段，one-to-many 时为关联表的字段
+     */
+    private String foreignKey;
+    /**
+     * 加载方式：lazy（默认，查询完一页后按 IN (...) 批量加载整页的关联数据）或
+     * eager（列表和详情查询中直接 LEFT JOIN，只支持 many-to-one）
+     */
+    private String fetch = Constants.RelationConstants.LAZY;
+    /**
+     * 关联表的配置，加载配置时填充，不参与序列化
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient TableConfig targetTable;
+    /**
+     * 外键的数据库列名，加载配置时填充
+     */
+    private String foreignKeyDbName;
+
+    public boolean isManyToOne() {
+        return Constants.RelationConstants.MANY_TO_ONE.equals(type);
+    }
+
+    public boolean isEager() {
+        return Constants.RelationConstants.EAGER.equals(fetch);
+    }
+}
@@ -0,0 +1,30 @@
+package com.yifan.code_generator_maven_plugin.model;
+
+import com.yifan.code_generator_maven_plugin.constant.Constants;
+import lombok.Data;
+
+/**
+ * 生成项目的启动速度优化：Spring AOT、AppCDS归档训练、懒加载，以及prod环境下不加载Swagger和安全配置；
+ * nativeImage 开启时额外生成GraalVM native-image构建配置和每个实体的RuntimeHints
+ */
+@Data
+public class StartupConfig {
+    private boolean fastStartup;
+    /**
+     * 是否开启 spring.main.lazy-initialization，Bean在第一次使用时才创建
+     */
+    private boolean lazyInitialization = true;
+    /**
+     * 是否生成GraalVM native-image构建目标（native-maven-plugin、RuntimeHints、native冒烟测试脚本）
+     */
+    private boolean nativeImage;
+
+    /**
+     * 模板、依赖及插件的feature是否由启动配置开启：fast-startup、native，以及两者都需要的Spring AOT处理（aot）
+     */
+    public boolean hasFeature(String feature) {
+        return (Constants.TemplateConstants.FEATURE_FAST_STARTUP.equals(feature) && fastStartup)
+                || (Constants.TemplateConstants.FEATURE_NATIVE.equals(feature) && nativeImage)
+                || (Constants.TemplateConstants.FEATURE_AOT.equals(feature) && (fastStartup || nativeImage));
+    }
+}
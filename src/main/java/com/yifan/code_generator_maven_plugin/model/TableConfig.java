@@ -1,5 +1,7 @@
 package com.yifan.code_generator_maven_plugin.model;
 
+import com.yifan.code_generator_maven_plugin.common.CommonFunc;
+import com.yifan.code_generator_maven_plugin.constant.Constants;
 import lombok.Data;
 
 import java.util.ArrayList;
@@ -11,4 +13,142 @@ public class TableConfig {
     private String entityName;
     private boolean useBaseEntity;
     private List<ColumnDefinition> columns = new ArrayList<>();
+    /**
+     * 列表查询的分页方式：offset（LIMIT offset, n，默认）或 keyset（WHERE 排序键 > 上一页最后一条 LIMIT n）
+     */
+    private String paginationMode = Constants.PaginationConstants.OFFSET;
+    /**
+     * keyset分页的排序字段（java字段名），与id组成复合排序键；为空时只按id排序。
+     * 该字段应当非空，否则值为NULL的记录无法被翻到
+     */
+    private String keysetSortColumn;
+    /**
+     * keyset分页是否倒序（例如按createTime从新到旧）
+     */
+    private boolean keysetDescending;
+    /**
+     * 批量新增/修改/upsert时每批提交的行数
+     */
+    private int batchSize = 1000;
+    /**
+     * 是否为按id查询生成本地缓存（Caffeine），适合读多写少的表
+     */
+    private boolean cacheEnabled;
+    /**
+     * 缓存的最大条目数
+     */
+    private long cacheMaximumSize = 10000;
+    /**
+     * 缓存写入后的过期时间（秒）
+     */
+    private long cacheTtlSeconds = 600;
+    /**
+     * 是否生成流式导出接口（CSV / NDJSON），逐行写出响应，内存占用与导出行数无关
+     */
+    private boolean exportEnabled;
+    /**
+     * 流式导出时每次从数据库服务端拉取的行数（MySQL需要URL中 useCursorFetch=true，开启导出时自动追加）
+     */
+    private int exportFetchSize = 1000;
+    /**
+     * 列表查询中常用的过滤字段（java字段名），生成复合索引；使用BaseEntity时逻辑删除字段deleted放在索引最前面，
+     * 查询只扫描未删除的行（MySQL不支持部分索引，用前缀列代替）
+     */
+    private List<String> filterIndexColumns = new ArrayList<>();
+    /**
+     * 与其他表的关联（many-to-one / one-to-many），列表和详情查询一并返回关联数据
+     */
+    private List<RelationConfig> relations = new ArrayList<>();
+    /**
+     * VO中包含本表数据、且开启了缓存的表的缓存名，本表写入时一并清空，加载配置时填充
+     */
+    private List<String> dependentCacheNames = new ArrayList<>();
+
+    public boolean isKeysetPagination() {
+        return Constants.PaginationConstants.KEYSET.equalsIgnoreCase(paginationMode);
+    }
+
+    /**
+     * 表是否启用了模板声明的特性，feature为空表示模板不依赖任何特性
+     *
+     * @param feature TemplateConfig中的feature
+     */
+    public boolean hasFeature(String feature) {
+        if (feature == null || feature.isBlank()) {
+            return true;
+        }
+        if (Constants.TemplateConstants.FEATURE_KEYSET.equals(feature)) {
+            return isKeysetPagination();
+        }
+        if (Constants.TemplateConstants.FEATURE_CACHE.equals(feature)) {
+            return cacheEnabled;
+        }
+        if (Constants.TemplateConstants.FEATURE_EXPORT.equals(feature)) {
+            return exportEnabled;
+        }
+        return false;
+    }
+
+    /**
+     * keyset分页的复合排序字段，只按id排序或未启用keyset分页时返回 null。
+     * 字段可以是columns中配置的字段，也可以是BaseEntity中的字段（如createTime）。
+     */
+    public ColumnDefinition resolveKeysetColumn() {
+        if (!isKeysetPagination() || keysetSortColumn == null || keysetSortColumn.isBlank()
+                || Constants.ColumnConstants.ID.equals(keysetSortColumn)) {
+            return null;
+        }
+        for (ColumnDefinition column : columns) {
+            if (keysetSortColumn.equals(column.getJavaName())) {
+                return column;
+            }
+        }
+        String baseJavaType = Constants.ColumnConstants.BASE_FIELD_JAVA_TYPES.get(keysetSortColumn);
+        if (useBaseEntity && baseJavaType != null) {
+            ColumnDefinition column = new ColumnDefinition();
+            column.setJavaName(keysetSortColumn);
+            column.setJavaType(baseJavaType);
+            return column;
+        }
+        throw new IllegalArgumentException("keysetSortColumn '" + keysetSortColumn + "' of table '" + tableName
+                + "' is not a configured column");
+    }
+
+    /**
+     * 过滤索引的数据库列名，字段可以是columns中配置的字段，也可以是BaseEntity中的字段
+     */
+    public List<String> resolveFilterIndexColumns() {
+        List<String> dbNames = new ArrayList<>();
+        for (String javaName : filterIndexColumns) {
+            String dbName = null;
+            for (ColumnDefinition column : columns) {
+                if (javaName.equals(column.getJavaName())) {
+                    dbName = column.getDbName() == null ? CommonFunc.toSnakeCase(javaName) : column.getDbName();
+                }
+            }
+            if (dbName == null && useBaseEntity && Constants.ColumnConstants.BASE_FIELD_JAVA_TYPES.containsKey(javaName)) {
+                dbName = CommonFunc.toSnakeCase(javaName);
+            }
+            if (dbName == null) {
+                throw new IllegalArgumentException("filterIndexColumns entry '" + javaName + "' of table '" + tableName
+                        + "' is not a configured column");
+            }
+            dbNames.add(dbName);
+        }
+        return dbNames;
+    }
+
+    /**
+     * 是否有按 IN (...) 批量加载的关联
+     */
+    public boolean hasLazyRelations() {
+        return relations.stream().anyMatch(relation -> !relation.isEager());
+    }
+
+    /**
+     * 是否有在查询中 LEFT JOIN 的关联
+     */
+    public boolean hasEagerRelations() {
+        return relations.stream().anyMatch(RelationConfig::isEager);
+    }
 }
@@ -19,5 +19,9 @@ public class TemplateConfig {
     private String packageSuffix;
     private String customParams;
     private boolean generateOnce;
+    /**
+     * 模板依赖的特性（如 keyset），为空时为所有表生成，否则只为启用了该特性的表生成
+     */
+    private String feature;
     private boolean isPlugin = false;
 }
@@ -1,18 +1,44 @@
 package com.yifan.code_generator_maven_plugin.mojo;
 
+import com.yifan.code_generator_maven_plugin.constant.Constants;
+import com.yifan.code_generator_maven_plugin.model.GenerationFingerprint;
 import com.yifan.code_generator_maven_plugin.model.GeneratorConfig;
 import com.yifan.code_generator_maven_plugin.utils.*;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.sonatype.plexus.build.incremental.BuildContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
 
 @Mojo(name = "generate-code")
 public class CrudGeneratorMojo extends AbstractMojo {
 
+    private static final String STAGE_POM = "pom";
+    private static final String STAGE_YML = "yml";
+    private static final String STAGE_SCHEMA = "schema";
+    private static final String STAGE_TEMPLATES = "templates";
+    private static final List<String> STAGE_NAMES = Arrays.asList(STAGE_POM, STAGE_YML, STAGE_SCHEMA, STAGE_TEMPLATES);
+
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     private MavenProject project;
 
+    @Parameter(defaultValue = "${session}", readonly = true)
+    private MavenSession session;
+
+    @Parameter(defaultValue = "${plugin}", readonly = true)
+    private PluginDescriptor pluginDescriptor;
+
     /**
      * Whether to synchronize schema changes to the database. If false, only SQL
      * scripts will be
@@ -21,45 +47,325 @@ public class CrudGeneratorMojo extends AbstractMojo {
     @Parameter(property = "syncDb", defaultValue = "false")
     private boolean syncDb;
 
+    /**
+     * 只执行指定的阶段，逗号分隔，可选值：pom, yml, schema, templates。
+     * 为空时执行全部阶段。Can be set via command line: -Dstages=schema,templates
+     */
+    @Parameter(property = "stages")
+    private String stages;
+
+    /**
+     * 跳过指定的阶段，逗号分隔。Can be set via command line: -DskipStages=pom
+     */
+    @Parameter(property = "skipStages")
+    private String skipStages;
+
+    /**
+     * 并发执行阶段的线程数
+     */
+    @Parameter(property = "stageThreads", defaultValue = "4")
+    private int stageThreads;
+
+    /**
+     * 忽略输入指纹，强制重新执行。Can be set via command line: -Dcodegen.force=true
+     */
+    @Parameter(property = "codegen.force", defaultValue = "false")
+    private boolean force;
+
+    /**
+     * 判断是否可以跳过时，是否重新读取数据库表结构快照并与上一次的校验和比较。
+     * 需要一次数据库连接，默认只比较本地输入。Can be set via command line: -Dcodegen.verifyDb=true
+     */
+    @Parameter(property = "codegen.verifyDb", defaultValue = "false")
+    private boolean verifyDb;
+
+    @Component
+    private BuildContext buildContext;
+
+    /**
+     * 本模块的POM修改是否延迟到了写回点，由pom阶段设置
+     */
+    private volatile boolean pomDeferred;
+
     @Override
-    public void execute() {
+    public void execute() throws MojoExecutionException {
+        boolean completed = false;
+        try {
+            generate();
+            completed = true;
+        } finally {
+            // 写回点无论本模块是否生成成功，都要写回之前模块延迟的POM修改
+            if (isReactorFlushPoint()) {
+                flushDeferredPoms(completed);
+            }
+        }
+    }
+
+    private void generate() throws MojoExecutionException {
         printInfoLog("Generating code...");
+        // 1 读取配置，所有阶段共享的只读输入
+        GeneratorConfig config;
         try {
-            // 1 读取配置
-            GeneratorConfig config = ConfigLoaderUtil.getInstance(project, getLog()).getGeneratorConfig();
-
-            // 2. 处理pom文件
-            printInfoLog("Begin to handle pom file...");
-            DependencyMgmt dependencyMgmt = new DependencyMgmt();
-            dependencyMgmt.addDependenciesFromPlugin(project, config.getPomSettings().getDependencies(),
-                    config.getPomSettings().getBuildPlugins(), config.getPomSettings().getResourceConfig());
-            printInfoLog("End handle pom file.");
-
-            // 3. 处理application.yml生成
-            printInfoLog("Begin to generate application.xml...");
-            ApplicationYmlUpdater applicationYmlUpdater = new ApplicationYmlUpdater(project, getLog());
-            applicationYmlUpdater.updateApplicationYml(config);
-            printInfoLog("End generate application.xml.");
-
-            // 4. 处理启动类生成
-            // 交由模板生成
-
-            // 5. 处理sql生成
-            printInfoLog("Begin to generate sql schema...");
-            SchemaSynchronizer schemaSynchronizer = new SchemaSynchronizer(project, config, getLog());
-            schemaSynchronizer.syncSchema(config.getModelSettings().getTables(), syncDb);
-            printInfoLog("End generate sql schema.");
-
-            // 6. 处理模板生成
-            printInfoLog("Begin to generate file from templates...");
-            FreeMarkerUtil codeGenerator = new FreeMarkerUtil();
-            codeGenerator.processTemplates(config, project, getLog());
-            printInfoLog("End generate file from templates.");
-
-            printInfoLog("Generate code COMPLETED!");
+            config = new ConfigLoaderUtil(project, getLog()).getGeneratorConfig();
         } catch (Exception e) {
-            getLog().error(e);
+            throw new MojoExecutionException("Failed to load generator config", e);
+        }
+
+        // 只选择部分阶段执行时不读写指纹，避免把部分结果记录为完整执行
+        Set<String> selected = parseStages(stages, STAGE_NAMES);
+        Set<String> skipped = parseStages(skipStages, STAGE_NAMES);
+        boolean fullRun = selected.isEmpty() && skipped.isEmpty();
+        InputFingerprinter fingerprinter = new InputFingerprinter(project, getLog());
+        String inputsHash;
+        try {
+            inputsHash = fingerprinter.computeInputsHash(config, pluginDescriptor == null ? null : pluginDescriptor.getVersion(),
+                    pluginDescriptor == null || pluginDescriptor.getPluginArtifact() == null
+                            ? null : pluginDescriptor.getPluginArtifact().getFile(),
+                    "syncDb=" + syncDb);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to fingerprint generator inputs", e);
+        }
+        if (fullRun && !force && isUpToDate(fingerprinter, inputsHash, config)) {
+            printInfoLog("Generator inputs unchanged since last run, skipped. Use -Dcodegen.force=true to regenerate.");
+            return;
+        }
+        // 本次执行未完成前先删除旧指纹，中途失败时下次不会被误判为最新
+        fingerprinter.invalidate();
+
+        ApplicationYmlUpdater applicationYmlUpdater = new ApplicationYmlUpdater(project, getLog());
+        SchemaSynchronizer schemaSynchronizer = new SchemaSynchronizer(project, config, getLog());
+        List<File> templateOutputs = Collections.synchronizedList(new ArrayList<>());
+
+        StageScheduler scheduler = new StageScheduler(getLog(), stageThreads)
+                // 2. 处理pom文件
+                .addStage(new StageScheduler.Stage(STAGE_POM, setOf("config"), setOf("pom.xml"),
+                        () -> handlePom(config)))
+                // 3. 处理application.yml生成
+                .addStage(new StageScheduler.Stage(STAGE_YML, setOf("config"), setOf("application.yml"),
+                        () -> applicationYmlUpdater.updateApplicationYml(config)))
+                // 4. 处理启动类生成，交由模板生成
+                // 5. 处理sql生成，JDBC元数据读取与模板渲染并发执行
+                .addStage(new StageScheduler.Stage(STAGE_SCHEMA, setOf("config", "database"), setOf("schema.sql", "database"),
+                        () -> schemaSynchronizer.syncSchema(config.getModelSettings().getTables(), syncDb)))
+                // 6. 处理模板生成
+                .addStage(new StageScheduler.Stage(STAGE_TEMPLATES, setOf("config"), setOf("sources"),
+                        () -> templateOutputs.addAll(new FreeMarkerUtil().processTemplates(config, project, getLog()))));
+
+        List<StageScheduler.StageResult> results = scheduler.run(selected, skipped);
+
+        List<String> failures = new ArrayList<>();
+        for (StageScheduler.StageResult result : results) {
+            switch (result.getStatus()) {
+                case SUCCESS:
+                    printInfoLog(String.format("  %-10s SUCCESS  %d ms", result.getName(), result.getDurationMillis()));
+                    break;
+                case SKIPPED:
+                    printInfoLog(String.format("  %-10s SKIPPED  (%s)", result.getName(), result.getReason()));
+                    break;
+                default:
+                    getLog().error(String.format("  %-10s %-8s %s", result.getName(), result.getStatus(), result.getReason()));
+                    failures.add(result.getName());
+            }
+        }
+        if (!failures.isEmpty()) {
+            StageScheduler.StageResult firstFailure = results.stream()
+                    .filter(r -> r.getError() != null)
+                    .findFirst()
+                    .orElse(null);
+            throw new MojoExecutionException("Code generation failed in stage(s): " + String.join(", ", failures),
+                    firstFailure == null ? null : firstFailure.getError());
+        }
+
+        // 通知增量构建上下文（IDE）刷新输出
+        List<File> outputs = new ArrayList<>(templateOutputs);
+        outputs.add(project.getFile());
+        outputs.addAll(applicationYmlUpdater.getYmlFiles());
+        outputs.add(new File(project.getBasedir(), Constants.FileConstant.SQL_SCRIPT_PATH_DIRECTORY));
+        for (File output : outputs) {
+            if (output != null && output.exists()) {
+                buildContext.refresh(output);
+            }
+        }
+
+        if (fullRun) {
+            GenerationFingerprint fingerprint = new GenerationFingerprint();
+            fingerprint.setInputsHash(inputsHash);
+            fingerprint.setDbSnapshotChecksum(schemaSynchronizer.getSnapshotChecksum());
+            templateOutputs.forEach(f -> fingerprint.getOutputs().add(f.getAbsolutePath()));
+            if (pomDeferred) {
+                // POM还没写回，等写回点写回后再记录指纹，构建没走到写回点时下次会重新执行本模块
+                PomModelCache.forSession(session).afterFlush(() -> writeFingerprint(fingerprinter, fingerprint));
+            } else {
+                writeFingerprint(fingerprinter, fingerprint);
+            }
+        }
+        printInfoLog("Generate code COMPLETED!");
+    }
+
+    private void writeFingerprint(InputFingerprinter fingerprinter, GenerationFingerprint fingerprint) {
+        try {
+            fingerprinter.write(fingerprint);
+        } catch (IOException e) {
+            getLog().warn("Failed to write generator fingerprint: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 判断本次是否可以跳过：IDE增量构建中输入没有变化，或者输入指纹与上一次完整执行一致且输出仍然存在。
+     */
+    private boolean isUpToDate(InputFingerprinter fingerprinter, String inputsHash, GeneratorConfig config) {
+        GenerationFingerprint previous = fingerprinter.read();
+        if (previous == null || !inputsHash.equals(previous.getInputsHash())) {
+            return false;
+        }
+        if (buildContext.isIncremental()
+                && fingerprinter.inputFiles(config).stream().noneMatch(buildContext::hasDelta)) {
+            return true;
+        }
+        if (!fingerprinter.outputsExist(previous)) {
+            printInfoLog("Some generated files were removed, regenerating.");
+            return false;
+        }
+        if (verifyDb && previous.getDbSnapshotChecksum() != null) {
+            try {
+                String current = new SchemaSynchronizer(project, config, getLog())
+                        .readSnapshotChecksum(config.getModelSettings().getTables());
+                if (!previous.getDbSnapshotChecksum().equals(current)) {
+                    printInfoLog("Database schema changed since last run, regenerating.");
+                    return false;
+                }
+            } catch (Exception e) {
+                getLog().warn("Failed to read database schema snapshot, regenerating: " + e.getMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void handlePom(GeneratorConfig config) throws Exception {
+        // 多模块构建时共享POM解析缓存，能确定构建会走到写回点时修改延迟到写回点统一写回，否则立即写回
+        DependencyMgmt dependencyMgmt = new DependencyMgmt(PomModelCache.forSession(session));
+        boolean deferWrite = canDeferPomWrite();
+        boolean pomChanged = dependencyMgmt.addDependenciesFromPlugin(project,
+                config.getPomSettings().getDependencies(),
+                config.getPomSettings().getBuildPlugins(), config.getPomSettings().getResourceConfig(),
+                deferWrite);
+        pomDeferred = deferWrite && pomChanged;
+        if (!pomChanged) {
+            printInfoLog("pom file is already up-to-date, skipped writing.");
+        } else if (pomDeferred) {
+            printInfoLog("pom changes deferred until " + reactorFlushPoint().getArtifactId()
+                    + " finishes code generation.");
+        } else {
+            printInfoLog("pom file updated.");
+        }
+    }
+
+    /**
+     * 写回之前模块延迟的POM修改。本模块已经失败时只记录错误，不覆盖原来的异常。
+     */
+    private void flushDeferredPoms(boolean throwOnError) throws MojoExecutionException {
+        PomModelCache pomModelCache = PomModelCache.forSession(session);
+        if (!pomModelCache.hasPendingWrites()) {
+            return;
+        }
+        try {
+            for (File pomFile : new DependencyMgmt(pomModelCache).flushPendingWrites()) {
+                printInfoLog("Flushed deferred pom changes to " + pomFile.getAbsolutePath());
+            }
+        } catch (IOException e) {
+            if (throwOnError) {
+                throw new MojoExecutionException("Failed to write deferred pom changes", e);
+            }
+            getLog().error("Failed to write deferred pom changes: " + e.getMessage());
+        }
+    }
+
+    private static Set<String> parseStages(String value, List<String> known) throws MojoExecutionException {
+        Set<String> result = new LinkedHashSet<>();
+        if (value == null || value.trim().isEmpty()) {
+            return result;
+        }
+        for (String name : value.split(",")) {
+            String stage = name.trim().toLowerCase(Locale.ROOT);
+            if (stage.isEmpty()) {
+                continue;
+            }
+            if (!known.contains(stage)) {
+                throw new MojoExecutionException("Unknown stage '" + stage + "', available stages: " + known);
+            }
+            result.add(stage);
+        }
+        return result;
+    }
+
+    private static Set<String> setOf(String... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+
+    /**
+     * 只有能确定构建会走到写回点时才延迟写入：
+     * 串行构建、fail-fast（写回点之前任何模块失败都会终止整个构建，延迟的模块不会记录指纹，下次重新执行），
+     * 且当前模块在写回点之前。fail-at-end / fail-never 时写回点可能因为依赖的模块失败而被跳过，
+     * 并行构建时模块的执行顺序不确定，这些情况下每个模块立即写回。
+     */
+    private boolean canDeferPomWrite() {
+        if (session == null || session.getRequest() == null || session.isParallel()) {
+            return false;
+        }
+        if (!MavenExecutionRequest.REACTOR_FAIL_FAST.equals(session.getRequest().getReactorFailureBehavior())) {
+            return false;
+        }
+        return !isReactorFlushPoint();
+    }
+
+    /**
+     * 判断当前模块是否在写回点或写回点之后，写回点之后的模块不再延迟写入。
+     */
+    private boolean isReactorFlushPoint() {
+        List<MavenProject> projects = sessionProjects();
+        int current = projects.indexOf(project);
+        return current < 0 || current >= projects.indexOf(reactorFlushPoint());
+    }
+
+    /**
+     * 本次构建中最后一个执行本插件的模块。
+     * 以最后一个在build中绑定了本插件generate-code目标的模块为准；都没有绑定（命令行直接调用）时以最后一个模块为准。
+     * 使用session中实际参与构建的模块，-pl / -rf 排除的模块不会被选为写回点。
+     */
+    private MavenProject reactorFlushPoint() {
+        List<MavenProject> projects = sessionProjects();
+        if (projects.isEmpty()) {
+            return project;
+        }
+        if (pluginDescriptor != null) {
+            for (int i = projects.size() - 1; i >= 0; i--) {
+                if (bindsThisPlugin(projects.get(i))) {
+                    return projects.get(i);
+                }
+            }
+        }
+        return projects.get(projects.size() - 1);
+    }
+
+    private List<MavenProject> sessionProjects() {
+        if (session == null || session.getProjects() == null) {
+            return Collections.emptyList();
+        }
+        return session.getProjects();
+    }
+
+    private boolean bindsThisPlugin(MavenProject reactorProject) {
+        List<?> buildPlugins = reactorProject.getBuildPlugins();
+        if (buildPlugins == null) {
+            return false;
         }
+        return buildPlugins.stream()
+                .map(Plugin.class::cast)
+                .filter(p -> pluginDescriptor.getArtifactId().equals(p.getArtifactId()))
+                .flatMap(p -> p.getExecutions().stream())
+                .map(PluginExecution::getGoals)
+                .anyMatch(goals -> goals != null && goals.contains("generate-code"));
     }
 
     /**
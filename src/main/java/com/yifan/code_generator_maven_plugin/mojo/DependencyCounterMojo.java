@@ -1,6 +1,9 @@
 package com.yifan.code_generator_maven_plugin.mojo;
 
 
+import com.yifan.code_generator_maven_plugin.model.ArtifactReport;
+import com.yifan.code_generator_maven_plugin.model.DependencyReport;
+import com.yifan.code_generator_maven_plugin.utils.DependencyGraphAnalyzer;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -11,8 +14,12 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 
+import java.io.IOException;
 import java.util.List;
 
+/**
+ * 依赖图分析：统计直接依赖数量，并对解析后的完整依赖图报告jar大小、重复构件、版本/类冲突和未使用的直接依赖。
+ */
 @Mojo(name = "dependency-counter", defaultPhase = LifecyclePhase.COMPILE, requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
 public class DependencyCounterMojo extends AbstractMojo {
 
@@ -22,23 +29,74 @@ public class DependencyCounterMojo extends AbstractMojo {
     @Parameter(property = "scope")
     String scope;
 
-    public void execute() throws MojoExecutionException, MojoFailureException {
+    /**
+     * 是否按依赖图哈希缓存分析结果，可通过 -DdependencyAnalysis.cache=false 关闭
+     */
+    @Parameter(property = "dependencyAnalysis.cache", defaultValue = "true")
+    boolean useCache;
 
-        String projectPath = System.getProperty("user.dir");
-        getLog().info("当前项目路径: " + projectPath);
+    /**
+     * 报告中列出的最大jar数量
+     */
+    @Parameter(property = "dependencyAnalysis.top", defaultValue = "20")
+    int top;
 
+    public void execute() throws MojoExecutionException, MojoFailureException {
         getLog().info("Initializing DependencyCounterMojo");
         List<Dependency> dependencies = project.getDependencies();
 
         long numDependencies = dependencies.stream()
-                .filter(dep -> {
-                    getLog().info("dependency scope: " + dep.getScope());
-                    return scope == null || scope.isEmpty() || scope.equalsIgnoreCase(dep.getScope());
-                })
+                .filter(dep -> scope == null || scope.isEmpty() || scope.equalsIgnoreCase(dep.getScope()))
                 .count();
         // getLog() provides access to the logging system
         getLog().info("parameter scope: " + scope);
         getLog().info("Number of dependencies: " + numDependencies);
+
+        DependencyReport report;
+        try {
+            report = new DependencyGraphAnalyzer(project, getLog()).analyze(scope, useCache);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to analyze dependency graph", e);
+        }
+        printReport(report);
+    }
+
+    private void printReport(DependencyReport report) {
+        getLog().info("Resolved artifacts: " + report.getArtifacts().size()
+                + ", total size: " + formatSize(report.getTotalSizeBytes()));
+        getLog().info("Largest artifacts:");
+        report.getArtifacts().stream().limit(top).forEach(this::printArtifact);
+
+        printSection("Duplicate artifacts", report.getDuplicates());
+        printSection("Conflicts", report.getConflicts());
+        printSection("Unused declared dependencies", report.getUnusedDeclared());
+        if (!report.getNoClassDeclared().isEmpty()) {
+            getLog().info("Declared dependencies without classes (starters/aggregators, not analyzed): "
+                    + report.getNoClassDeclared().size());
+        }
     }
-}
 
+    private void printArtifact(ArtifactReport artifact) {
+        getLog().info(String.format("  %10s  %s (%s%s)", formatSize(artifact.getSizeBytes()), artifact.getCoordinates(),
+                artifact.getScope(), artifact.isDirect() ? ", direct" : ", via " + artifact.getPulledBy()));
+    }
+
+    private void printSection(String title, List<String> items) {
+        if (items.isEmpty()) {
+            getLog().info(title + ": none");
+            return;
+        }
+        getLog().warn(title + ": " + items.size());
+        items.forEach(item -> getLog().warn("  " + item));
+    }
+
+    private static String formatSize(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+}
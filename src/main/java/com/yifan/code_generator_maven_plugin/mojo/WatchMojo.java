@@ -0,0 +1,347 @@
+package com.yifan.code_generator_maven_plugin.mojo;
+
+import com.yifan.code_generator_maven_plugin.constant.Constants;
+import com.yifan.code_generator_maven_plugin.model.GeneratorConfig;
+import com.yifan.code_generator_maven_plugin.model.TableConfig;
+import com.yifan.code_generator_maven_plugin.model.TemplateConfig;
+import com.yifan.code_generator_maven_plugin.utils.ConfigLoaderUtil;
+import com.yifan.code_generator_maven_plugin.utils.FreeMarkerUtil;
+import com.yifan.code_generator_maven_plugin.utils.SchemaSynchronizer;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 监听 generator_setting.yml 和用户模板目录，文件变化时在当前进程内只重新生成受影响的表/模板。
+ * 配置、FreeMarker模板缓存和数据库表结构快照在监听期间保持常驻，Ctrl+C 结束。
+ * 重新生成时只覆盖内容仍与最近一次渲染一致的文件，手工修改过的生成文件跳过并打印警告。
+ * pom.xml 和 application.yml 不在监听范围内，pomSettings 以及写入 application.yml 的配置变化后需要重新执行 generate-code。
+ */
+@Mojo(name = "watch")
+public class WatchMojo extends AbstractMojo {
+
+    /**
+     * 进入每个模板数据模型的配置，变化后重新渲染全部模板
+     */
+    private static final Map<String, Function<GeneratorConfig, Object>> RENDER_SECTIONS = new LinkedHashMap<>();
+    /**
+     * 写入 application.yml 的配置，watch 不更新 application.yml，只提示重新执行 generate-code
+     */
+    private static final Map<String, Function<GeneratorConfig, Object>> YML_SECTIONS = new LinkedHashMap<>();
+
+    static {
+        RENDER_SECTIONS.put("execution", GeneratorConfig::getExecution);
+        RENDER_SECTIONS.put("metrics", GeneratorConfig::getMetrics);
+        RENDER_SECTIONS.put("startup", GeneratorConfig::getStartup);
+        RENDER_SECTIONS.put("benchmark", GeneratorConfig::getBenchmark);
+        YML_SECTIONS.put("datasourceTuning", GeneratorConfig::getDatasourceTuning);
+        YML_SECTIONS.put("execution", GeneratorConfig::getExecution);
+        YML_SECTIONS.put("metrics", GeneratorConfig::getMetrics);
+        YML_SECTIONS.put("startup", GeneratorConfig::getStartup);
+    }
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * 表结构变化时是否把生成的SQL同步到数据库。Can be set via command line: -DsyncDb=true
+     */
+    @Parameter(property = "syncDb", defaultValue = "false")
+    private boolean syncDb;
+
+    /**
+     * 收到第一个文件事件后继续等待的时间，编辑器保存时往往会连续触发多个事件
+     */
+    @Parameter(property = "watch.debounceMillis", defaultValue = "100")
+    private long debounceMillis;
+
+    private GeneratorConfig config;
+    private FreeMarkerUtil renderer;
+    private SchemaSynchronizer schemaSynchronizer;
+    /**
+     * 监听中的目录（模板目录及其全部子目录）到模板目录配置的映射
+     */
+    private final Map<Path, String> watchedTemplateDirs = new HashMap<>();
+    private final Map<String, Path> templateRoots = new HashMap<>();
+    private final Set<Path> registeredDirs = new HashSet<>();
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        Path userConfig = new File(new File(project.getBasedir(), Constants.FileConstant.RESOURCE_PATH),
+                Constants.FileConstant.CONFIG_PATH).toPath().toAbsolutePath().normalize();
+        try {
+            config = new ConfigLoaderUtil(project, getLog()).getGeneratorConfig();
+            renderer = new FreeMarkerUtil();
+            renderer.setProtectEditedOutputs(true);
+        } catch (Exception e) {
+            throw new MojoExecutionException("Failed to load generator config", e);
+        }
+        schemaSynchronizer = new SchemaSynchronizer(project, config, getLog());
+
+        // 首次执行：生成缺失的文件并读取表结构快照
+        long start = System.nanoTime();
+        renderUnits(tc -> true, t -> true, false);
+        syncSchema();
+        printInfoLog("Initial generation finished in " + elapsedMillis(start) + " ms.");
+
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            register(watchService, userConfig.getParent());
+            registerTemplateDirs(watchService);
+            printInfoLog("Watching " + userConfig + " and " + templateRoots.size()
+                    + " template director(ies) for changes, press Ctrl+C to stop.");
+
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<Path> changed = awaitChanges(watchService);
+                if (changed.isEmpty()) {
+                    continue;
+                }
+                start = System.nanoTime();
+                registerCreatedDirs(watchService, changed);
+                int rendered = 0;
+                if (changed.remove(userConfig)) {
+                    rendered += onConfigChanged();
+                    registerTemplateDirs(watchService);
+                }
+                rendered += onTemplatesChanged(changed);
+                if (rendered > 0) {
+                    printInfoLog("Re-rendered " + rendered + " unit(s) in " + elapsedMillis(start) + " ms.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to watch generator inputs", e);
+        }
+    }
+
+    /**
+     * 配置文件变化：重新加载配置，只重新生成内容发生变化的表和模板。
+     *
+     * @return 重新渲染的单元数
+     */
+    private int onConfigChanged() {
+        GeneratorConfig reloaded;
+        try {
+            reloaded = new ConfigLoaderUtil(project, getLog()).getGeneratorConfig();
+        } catch (Exception e) {
+            getLog().error("Failed to reload generator config, keeping the previous one: " + e.getMessage());
+            return 0;
+        }
+        GeneratorConfig previous = config;
+        config = reloaded;
+        if (!Objects.equals(previous.getPomSettings(), reloaded.getPomSettings())) {
+            getLog().warn("pomSettings changed, run generate-code to update pom.xml.");
+        }
+        List<String> ymlChanges = changedSections(previous, reloaded, YML_SECTIONS);
+        if (!ymlChanges.isEmpty()) {
+            getLog().warn(String.join(", ", ymlChanges) + " changed, run generate-code to update application.yml.");
+        }
+        if (!Objects.equals(previous.getBaseConfigs().getJdbcConfig(), reloaded.getBaseConfigs().getJdbcConfig())) {
+            // 连接到了不同的数据库，丢弃快照
+            schemaSynchronizer = new SchemaSynchronizer(project, reloaded, getLog());
+        } else {
+            schemaSynchronizer.setGeneratorConfig(reloaded);
+        }
+
+        List<String> globalChanges = changedSections(previous, reloaded, RENDER_SECTIONS);
+        if (!Objects.equals(previous.getBaseConfigs(), reloaded.getBaseConfigs())) {
+            globalChanges.add(0, "baseConfigs");
+        }
+        if (!globalChanges.isEmpty()) {
+            printInfoLog(String.join(", ", globalChanges) + " changed, re-rendering everything.");
+            int rendered = renderUnits(tc -> true, t -> true, true);
+            syncSchema();
+            return rendered;
+        }
+
+        Map<String, TableConfig> previousTables = previous.getModelSettings().getTables().stream()
+                .collect(Collectors.toMap(TableConfig::getTableName, tc -> tc, (a, b) -> b));
+        Set<String> changedTables = reloaded.getModelSettings().getTables().stream()
+                .filter(tc -> !tc.equals(previousTables.get(tc.getTableName())))
+                .map(TableConfig::getTableName)
+                .collect(Collectors.toSet());
+        Set<String> previousTemplates = previous.getModelSettings().getTemplates().stream()
+                .map(WatchMojo::templateKey)
+                .collect(Collectors.toSet());
+        Set<String> changedTemplates = reloaded.getModelSettings().getTemplates().stream()
+                .map(WatchMojo::templateKey)
+                .filter(key -> !previousTemplates.contains(key))
+                .collect(Collectors.toSet());
+
+        int rendered = 0;
+        if (!changedTables.isEmpty()) {
+            printInfoLog("Tables changed: " + changedTables);
+            rendered += renderUnits(tc -> changedTables.contains(tc.getTableName()),
+                    t -> !changedTemplates.contains(templateKey(t)), true);
+            syncSchema();
+        }
+        if (!changedTemplates.isEmpty()) {
+            printInfoLog("Template settings changed: " + changedTemplates.size());
+            rendered += renderUnits(tc -> true, t -> changedTemplates.contains(templateKey(t)), true);
+        }
+        return rendered;
+    }
+
+    private static List<String> changedSections(GeneratorConfig previous, GeneratorConfig reloaded,
+                                                Map<String, Function<GeneratorConfig, Object>> sections) {
+        List<String> changed = new ArrayList<>();
+        sections.forEach((name, getter) -> {
+            if (!Objects.equals(getter.apply(previous), getter.apply(reloaded))) {
+                changed.add(name);
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * 模板文件变化：清除对应目录的模板缓存，只重新渲染被修改的模板。
+     * 修改的文件不是某个模板本身时（被 include/import 的公共片段），重新渲染该目录下的全部模板。
+     *
+     * @return 重新渲染的单元数
+     */
+    private int onTemplatesChanged(Set<Path> changed) {
+        Map<String, Set<String>> changedByDir = new LinkedHashMap<>();
+        for (Path path : changed) {
+            String templateDir = watchedTemplateDirs.get(path.getParent());
+            if (templateDir != null) {
+                // 子目录中的模板以相对模板目录的路径（/分隔）与 templateFile 比较
+                String relative = templateRoots.get(templateDir).relativize(path).toString().replace(File.separatorChar, '/');
+                changedByDir.computeIfAbsent(templateDir, k -> new HashSet<>()).add(relative);
+            }
+        }
+        int rendered = 0;
+        for (Map.Entry<String, Set<String>> entry : changedByDir.entrySet()) {
+            String templateDir = entry.getKey();
+            Set<String> files = entry.getValue();
+            renderer.clearTemplateCache(templateDir);
+            Predicate<TemplateConfig> inDir = t -> !t.isPlugin() && templateDir.equals(t.getTemplateDir());
+            boolean onlyTemplates = config.getModelSettings().getTemplates().stream()
+                    .filter(inDir)
+                    .map(TemplateConfig::getTemplateFile)
+                    .collect(Collectors.toSet())
+                    .containsAll(files);
+            printInfoLog("Templates changed in " + templateDir + ": " + files);
+            rendered += renderUnits(tc -> true,
+                    onlyTemplates ? inDir.and(t -> files.contains(t.getTemplateFile())) : inDir, true);
+        }
+        return rendered;
+    }
+
+    private int renderUnits(Predicate<TableConfig> tableFilter, Predicate<TemplateConfig> templateFilter, boolean overwrite) {
+        try {
+            return renderer.processTemplates(config, project, getLog(), tableFilter, templateFilter, overwrite).size();
+        } catch (IOException e) {
+            getLog().error(e.getMessage());
+            return 0;
+        }
+    }
+
+    private void syncSchema() {
+        try {
+            schemaSynchronizer.syncSchema(config.getModelSettings().getTables(), syncDb, true);
+        } catch (Exception e) {
+            getLog().warn("Schema synchronization failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 阻塞等待第一个事件，再在防抖时间内收集后续事件，返回变化的文件（绝对路径）。
+     */
+    private Set<Path> awaitChanges(WatchService watchService) throws InterruptedException {
+        Set<Path> changed = new HashSet<>();
+        WatchKey key = watchService.take();
+        while (key != null) {
+            Path dir = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() != StandardWatchEventKinds.OVERFLOW) {
+                    changed.add(dir.resolve((Path) event.context()).toAbsolutePath().normalize());
+                }
+            }
+            if (!key.reset()) {
+                registeredDirs.remove(dir);
+            }
+            key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+        }
+        return changed;
+    }
+
+    private void registerTemplateDirs(WatchService watchService) throws IOException {
+        watchedTemplateDirs.clear();
+        templateRoots.clear();
+        for (TemplateConfig templateConfig : config.getModelSettings().getTemplates()) {
+            if (templateConfig.isPlugin() || templateConfig.getTemplateDir() == null
+                    || templateRoots.containsKey(templateConfig.getTemplateDir())) {
+                continue;
+            }
+            Path dir = new File(project.getBasedir(), templateConfig.getTemplateDir()).toPath().toAbsolutePath().normalize();
+            if (Files.isDirectory(dir)) {
+                templateRoots.put(templateConfig.getTemplateDir(), dir);
+                registerTree(watchService, dir, templateConfig.getTemplateDir());
+            }
+        }
+    }
+
+    /**
+     * 模板目录下新建的子目录同样需要监听，其中的文件作为变化一并处理
+     */
+    private void registerCreatedDirs(WatchService watchService, Set<Path> changed) throws IOException {
+        for (Path path : changed) {
+            String templateDir = watchedTemplateDirs.get(path.getParent());
+            if (templateDir != null && Files.isDirectory(path)) {
+                registerTree(watchService, path, templateDir);
+            }
+        }
+    }
+
+    /**
+     * 递归监听目录及其子目录，被 include/import 的模板可能放在子目录中
+     */
+    private void registerTree(WatchService watchService, Path root, String templateDir) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Path normalized = dir.toAbsolutePath().normalize();
+                watchedTemplateDirs.put(normalized, templateDir);
+                register(watchService, normalized);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void register(WatchService watchService, Path dir) throws IOException {
+        if (registeredDirs.add(dir)) {
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+    }
+
+    /**
+     * 模板配置中影响生成结果的字段，packageInfo 在渲染时计算，不参与比较
+     */
+    private static String templateKey(TemplateConfig t) {
+        return String.join("|", String.valueOf(t.isPlugin()), t.getTemplateDir(), t.getTemplateFile(),
+                t.getFileNameFormat(), t.getFileType(), t.getPackageSuffix(), t.getCustomParams(),
+                String.valueOf(t.isGenerateOnce()), t.getFeature());
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private void printInfoLog(String logInfo) {
+        if (getLog().isInfoEnabled()) {
+            getLog().info(logInfo);
+        }
+    }
+}
@@ -1,19 +1,22 @@
 package com.yifan.code_generator_maven_plugin.utils;
 
 
+import com.yifan.code_generator_maven_plugin.model.DatasourceTuningConfig;
+import com.yifan.code_generator_maven_plugin.model.ExecutionConfig;
 import com.yifan.code_generator_maven_plugin.model.GeneratorConfig;
+import com.yifan.code_generator_maven_plugin.model.JdbcConfig;
+import com.yifan.code_generator_maven_plugin.model.MetricsConfig;
+import com.yifan.code_generator_maven_plugin.model.StartupConfig;
+import com.yifan.code_generator_maven_plugin.model.TableConfig;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
-import org.yaml.snakeyaml.DumperOptions;
-import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * @Description: Utility class for updating the application.yml file in the
@@ -28,10 +31,14 @@ public class ApplicationYmlUpdater { // Renamed from ApplicationYmlUtils
     private static final String USERNAME_KEY = "username";
     private static final String PASSWORD_KEY = "password";
     private static final String DRIVER_CLASS_NAME_KEY = "driver-class-name";
+    private static final String HIKARI_KEY = "hikari";
+    private static final String MYSQL_URL_PREFIX = "jdbc:mysql:";
 
     private static final String PROFILES_KEY = "profiles";
     private static final String ACTIVE_KEY = "active";
     private static final String DEV_PROFILE_VALUE = "dev";
+    private static final String PROD_PROFILE_VALUE = "prod";
+    private static final String NO_LOGGING_IMPL_VALUE = "org.apache.ibatis.logging.nologging.NoLoggingImpl";
 
     private static final String MYBATIS_PLUS_KEY = "mybatis-plus";
     private static final String MAPPER_LOCATIONS_KEY = "mapper-locations";
@@ -49,6 +56,47 @@ public class ApplicationYmlUpdater { // Renamed from ApplicationYmlUtils
     private static final String LOGIC_NOT_DELETE_VALUE_KEY = "logic-not-delete-value";
     private static final Integer LOGIC_NOT_DELETE_VALUE = 0;
 
+    private static final String THREADS_KEY = "threads";
+    private static final String VIRTUAL_KEY = "virtual";
+    private static final String ENABLED_KEY = "enabled";
+    private static final String TASK_KEY = "task";
+    private static final String EXECUTION_KEY = "execution";
+    private static final String SIMPLE_KEY = "simple";
+    private static final String POOL_KEY = "pool";
+    /**
+     * HikariCP的默认连接池大小，未开启datasourceTuning时使用
+     */
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    private static final String MVC_KEY = "mvc";
+    private static final String ASYNC_KEY = "async";
+    private static final String REQUEST_TIMEOUT_KEY = "request-timeout";
+
+    private static final String MANAGEMENT_KEY = "management";
+    private static final String ENDPOINTS_KEY = "endpoints";
+    private static final String WEB_KEY = "web";
+    private static final String EXPOSURE_KEY = "exposure";
+    private static final String INCLUDE_KEY = "include";
+    private static final String EXPOSED_ENDPOINTS_VALUE = "health,info,metrics,prometheus";
+    private static final String OBSERVATIONS_KEY = "observations";
+    private static final String ANNOTATIONS_KEY = "annotations";
+    private static final String METRICS_KEY = "metrics";
+    private static final String SLOW_QUERY_THRESHOLD_KEY = "slow-query-threshold-ms";
+    private static final String POOL_NAME_KEY = "pool-name";
+
+    private static final String MAIN_KEY = "main";
+    private static final String LAZY_INITIALIZATION_KEY = "lazy-initialization";
+    private static final String SPRINGDOC_KEY = "springdoc";
+    private static final String AUTOCONFIGURE_KEY = "autoconfigure";
+    private static final String EXCLUDE_KEY = "exclude";
+    private static final String SECURITY_AUTO_CONFIGURATION_VALUE =
+            "org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration,"
+                    + "org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration";
+
+    private static final String APP_KEY = "app";
+    private static final String CACHE_KEY = "cache";
+    private static final String SPECS_KEY = "specs";
+
     private static final String SWAGGER_KEY = "swagger";
     private static final String AUTH_KEY = "auth";
     private static final String ADMIN_VALUE = "admin"; // Used for both username and password
@@ -56,203 +104,416 @@ public class ApplicationYmlUpdater { // Renamed from ApplicationYmlUtils
     private final MavenProject project;
     private final Log log;
     private final File ymlFile;
+    private final File devYmlFile;
+    private final File prodYmlFile;
 
     public ApplicationYmlUpdater(MavenProject project, Log log) { // Renamed constructor
         this.project = project;
         this.log = log;
         this.ymlFile = new File(project.getBasedir(), "src/main/resources/application.yml");
+        this.devYmlFile = new File(ymlFile.getParentFile(), "application-" + DEV_PROFILE_VALUE + ".yml");
+        this.prodYmlFile = new File(ymlFile.getParentFile(), "application-" + PROD_PROFILE_VALUE + ".yml");
+    }
+
+    /**
+     * application.yml and the generated profile files
+     */
+    public List<File> getYmlFiles() {
+        return Arrays.asList(ymlFile, devYmlFile, prodYmlFile);
     }
 
     /**
      * Updates the application.yml file based on the provided generator
      * configuration.
-     * This method will create the file if it does not exist.
+     * This method will create the file if it does not exist. Only the managed keys are patched in place,
+     * comments, ordering and other documents of a multi-document file are preserved, and the file is not
+     * rewritten when every key is already up-to-date.
+     * Profile specific settings go to application-dev.yml and application-prod.yml, where keys are only
+     * added when missing so that user edits are kept.
      *
      * @param generatorConfig The configuration containing JDBC settings.
      * @throws IOException If an I/O error occurs during file operations.
      */
-    @SuppressWarnings("unchecked")
     public void updateApplicationYml(GeneratorConfig generatorConfig) throws IOException {
-        // Ensure application.yml file and its parent directories exist
-        if (!ymlFile.exists()) {
-            log.info("application.yml not found, creating a new one.");
-            ymlFile.getParentFile().mkdirs();
-            ymlFile.createNewFile();
-        }
-
-        log.info("Updating application.yml...");
-
-        DumperOptions options = new DumperOptions();
-        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-        options.setPrettyFlow(true);
-        options.setIndent(2);
-        Yaml yaml = new Yaml(options);
-
-        Map<String, Object> ymlMap = new LinkedHashMap<>();
-        // Load existing YAML content
-        try (FileReader reader = new FileReader(ymlFile)) {
-            Map<String, Object> loadedMap = yaml.load(reader);
-            if (loadedMap != null) {
-                ymlMap.putAll(loadedMap);
-            }
+        patchYmlFile(ymlFile, editor -> updateDefaultProfile(editor, generatorConfig));
+        patchYmlFile(devYmlFile, this::updateDevProfile);
+        patchYmlFile(prodYmlFile, editor -> updateProdProfile(editor, generatorConfig));
+    }
+
+    /**
+     * Reads a yml file (creating it if missing), applies the patch and writes it back only if it changed.
+     *
+     * @param file  The yml file.
+     * @param patch The changes to apply.
+     * @throws IOException If an I/O error occurs during file operations.
+     */
+    private void patchYmlFile(File file, Consumer<YamlDocumentEditor> patch) throws IOException {
+        // Ensure the yml file and its parent directories exist
+        if (!file.exists()) {
+            log.info(file.getName() + " not found, creating a new one.");
+            file.getParentFile().mkdirs();
+            file.createNewFile();
         }
 
-        boolean modified = false;
+        log.info("Updating " + file.getName() + "...");
+
+        String original = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        YamlDocumentEditor editor = new YamlDocumentEditor(original);
+        patch.accept(editor);
 
+        if (editor.isModified()) {
+            Files.write(file.toPath(), editor.getText().getBytes(StandardCharsets.UTF_8));
+            log.info(file.getName() + " has been updated. ✅");
+        } else {
+            log.info(file.getName() + " is already up-to-date. 📄");
+        }
+    }
+
+    /**
+     * Settings shared by all profiles, written to application.yml.
+     *
+     * @param editor          The editor of application.yml.
+     * @param generatorConfig The configuration containing JDBC settings.
+     */
+    private void updateDefaultProfile(YamlDocumentEditor editor, GeneratorConfig generatorConfig) {
         // 1. Process database configuration
-        if (generatorConfig != null && generatorConfig.getBaseConfigs().getJdbcConfig() != null
-                && updateJdbcConfiguration(ymlMap, generatorConfig)) {
-            modified = true;
+        if (generatorConfig != null && generatorConfig.getBaseConfigs().getJdbcConfig() != null) {
+            updateJdbcConfiguration(editor, generatorConfig);
         }
 
-        // 2. Process Spring Profile
-        if (updateSpringProfiles(ymlMap)) {
-            modified = true;
+        // 1.1 Process connection pool tuning
+        if (generatorConfig != null && generatorConfig.getDatasourceTuning() != null
+                && generatorConfig.getDatasourceTuning().isEnabled()) {
+            updateHikariConfiguration(editor, generatorConfig.getDatasourceTuning());
         }
 
+        // 2. Process Spring Profile
+        updateSpringProfiles(editor);
+
         // 3. Process MyBatis Plus Configuration
-        if (updateMybatisPlusConfiguration(ymlMap)) {
-            modified = true;
-        }
+        updateMybatisPlusConfiguration(editor);
 
         // 4. Process Swagger Authentication Configuration
-        if (updateSwaggerConfiguration(ymlMap)) {
-            modified = true;
+        updateSwaggerConfiguration(editor);
+
+        // 5. Process per-table cache specs
+        if (generatorConfig != null && generatorConfig.getModelSettings() != null) {
+            updateCacheConfiguration(editor, generatorConfig.getModelSettings().getTables());
+        }
+
+        // 6. Streaming exports must not be cut off by the default async request timeout
+        if (hasExportTable(generatorConfig)
+                && editor.setIfAbsent(-1, SPRING_KEY, MVC_KEY, ASYNC_KEY, REQUEST_TIMEOUT_KEY)) {
+            log.info("Disabled Spring MVC async request timeout for streaming exports. 📤");
         }
 
-        // 5. Write back to file if any modification occurred
-        if (modified) {
-            try (FileWriter writer = new FileWriter(ymlFile)) {
-                yaml.dump(ymlMap, writer);
-                log.info("application.yml has been updated. ✅");
+        // 7. Process request execution mode
+        if (generatorConfig != null && generatorConfig.getExecution() != null) {
+            updateExecutionConfiguration(editor, generatorConfig.getExecution(), generatorConfig.getDatasourceTuning());
+        }
+
+        // 8. Process Micrometer metrics
+        if (generatorConfig != null && generatorConfig.getMetrics() != null && generatorConfig.getMetrics().isEnabled()) {
+            updateMetricsConfiguration(editor, generatorConfig.getMetrics());
+        }
+
+        // 9. Process fast startup lazy initialization
+        if (generatorConfig != null && generatorConfig.getStartup() != null) {
+            StartupConfig startup = generatorConfig.getStartup();
+            if (startup.isFastStartup() && startup.isLazyInitialization()) {
+                if (editor.set(true, SPRING_KEY, MAIN_KEY, LAZY_INITIALIZATION_KEY)) {
+                    log.info("Enabled lazy initialization for fast startup. 🚀");
+                }
+            } else if (editor.removeIfEquals(true, SPRING_KEY, MAIN_KEY, LAZY_INITIALIZATION_KEY)) {
+                log.info("Removed lazy initialization from the default profile. 🐢");
             }
-        } else {
-            log.info("application.yml is already up-to-date. 📄");
         }
     }
 
     /**
-     * Helper method to safely get or create a nested map.
+     * Exposes the metrics endpoints, enables @Timed/@Observed handling and writes the slow query threshold read
+     * by the generated SqlMetricsInterceptor. The Hikari pool gets a stable name, since Spring Boot tags the
+     * hikaricp.* pool metrics it binds automatically with it.
      *
-     * @param parentMap The map to check for the key.
-     * @param key       The key of the nested map.
-     * @return The nested map, creating it if it doesn't exist.
+     * @param editor  The editor of application.yml.
+     * @param metrics The metrics configuration.
      */
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> getOrCreateNestedMap(Map<String, Object> parentMap, String key) {
-        return (Map<String, Object>) parentMap.computeIfAbsent(key, k -> new LinkedHashMap<>());
+    private void updateMetricsConfiguration(YamlDocumentEditor editor, MetricsConfig metrics) {
+        boolean changed = editor.setIfAbsent(EXPOSED_ENDPOINTS_VALUE, MANAGEMENT_KEY, ENDPOINTS_KEY, WEB_KEY, EXPOSURE_KEY, INCLUDE_KEY);
+        changed |= editor.set(true, MANAGEMENT_KEY, OBSERVATIONS_KEY, ANNOTATIONS_KEY, ENABLED_KEY);
+        changed |= editor.set(metrics.getSlowQueryThresholdMs(), APP_KEY, METRICS_KEY, SLOW_QUERY_THRESHOLD_KEY);
+        changed |= editor.setIfAbsent(project.getArtifactId() + "-pool", SPRING_KEY, DATASOURCE_KEY, HIKARI_KEY, POOL_NAME_KEY);
+        if (changed) {
+            log.info("Updated metrics configuration, slow query threshold: " + metrics.getSlowQueryThresholdMs() + "ms. 📈");
+        }
     }
 
     /**
-     * Updates JDBC configuration in the YAML map.
+     * Configures threads for the execution mode. Both virtual threads and the async task pool are bounded by
+     * the Hikari pool size, since every request ends up waiting for a connection anyway.
      *
-     * @param ymlMap          The overall YAML map.
-     * @param generatorConfig The generator configuration with JDBC details.
-     * @return True if modified, false otherwise.
+     * @param editor    The editor of application.yml.
+     * @param execution The execution configuration.
+     * @param tuning    The datasource tuning configuration, may be null.
      */
-    private boolean updateJdbcConfiguration(Map<String, Object> ymlMap, GeneratorConfig generatorConfig) {
+    private void updateExecutionConfiguration(YamlDocumentEditor editor, ExecutionConfig execution,
+                                              DatasourceTuningConfig tuning) {
+        int poolSize = tuning != null && tuning.isEnabled() ? tuning.resolveMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+        if (execution.isVirtualThreads()) {
+            boolean changed = editor.set(true, SPRING_KEY, THREADS_KEY, VIRTUAL_KEY, ENABLED_KEY);
+            changed |= editor.set(poolSize, SPRING_KEY, TASK_KEY, EXECUTION_KEY, SIMPLE_KEY, "concurrency-limit");
+            if (changed) {
+                log.info("Enabled virtual threads, async task concurrency limit: " + poolSize + ". 🧵");
+            }
+        } else if (editor.removeIfEquals(true, SPRING_KEY, THREADS_KEY, VIRTUAL_KEY, ENABLED_KEY)) {
+            log.info("Disabled virtual threads. 🧵");
+        }
+
+        if (execution.isAsync()) {
+            Map<String, Object> pool = new LinkedHashMap<>();
+            pool.put("core-size", poolSize);
+            pool.put("max-size", poolSize);
+            pool.put("queue-capacity", execution.getAsyncQueueCapacity());
+            boolean changed = false;
+            for (Map.Entry<String, Object> entry : pool.entrySet()) {
+                changed |= editor.set(entry.getValue(), SPRING_KEY, TASK_KEY, EXECUTION_KEY, POOL_KEY, entry.getKey());
+            }
+            if (changed) {
+                log.info("Updated async task pool, size: " + poolSize + ". ⚡");
+            }
+        }
+    }
+
+    private boolean hasExportTable(GeneratorConfig generatorConfig) {
+        return generatorConfig != null && generatorConfig.getModelSettings() != null
+                && generatorConfig.getModelSettings().getTables().stream().anyMatch(TableConfig::isExportEnabled);
+    }
+
+    /**
+     * Development profile: SQL statements printed to stdout and lazy initialization for fast restarts.
+     *
+     * @param editor The editor of application-dev.yml.
+     */
+    private void updateDevProfile(YamlDocumentEditor editor) {
+        boolean changed = editor.setIfAbsent(LOG_IMPL_VALUE, MYBATIS_PLUS_KEY, CONFIGURATION_KEY, LOG_IMPL_KEY);
+        changed |= editor.setIfAbsent(true, SPRING_KEY, MAIN_KEY, LAZY_INITIALIZATION_KEY);
+        if (changed) {
+            log.info("Added development profile defaults. 🛠️");
+        }
+    }
+
+    /**
+     * Production profile: no SQL logging, tuned Tomcat threads, response compression, HTTP/2,
+     * Jackson settings and eager initialization so that the first requests do not pay for bean creation.
+     * With fast startup the lazy initialization flag follows the startup configuration instead, and the
+     * Swagger UI and the security auto-configuration it needs are switched off, matching the
+     * {@code @Profile("!prod")} on the generated SwaggerConfig and WebSecurityConfig.
+     *
+     * @param editor          The editor of application-prod.yml.
+     * @param generatorConfig The generator configuration, may be null.
+     */
+    private void updateProdProfile(YamlDocumentEditor editor, GeneratorConfig generatorConfig) {
+        StartupConfig startup = generatorConfig == null ? null : generatorConfig.getStartup();
+        boolean fastStartup = startup != null && startup.isFastStartup();
+
+        Map<String[], Object> defaults = new LinkedHashMap<>();
+        defaults.put(new String[]{MYBATIS_PLUS_KEY, CONFIGURATION_KEY, LOG_IMPL_KEY}, NO_LOGGING_IMPL_VALUE);
+        defaults.put(new String[]{"server", "tomcat", "threads", "max"}, 200);
+        defaults.put(new String[]{"server", "tomcat", "threads", "min-spare"}, 20);
+        defaults.put(new String[]{"server", "tomcat", "accept-count"}, 100);
+        defaults.put(new String[]{"server", "tomcat", "max-connections"}, 8192);
+        defaults.put(new String[]{"server", "compression", "enabled"}, true);
+        defaults.put(new String[]{"server", "compression", "mime-types"},
+                "application/json,application/xml,text/html,text/plain,text/css,application/javascript");
+        defaults.put(new String[]{"server", "compression", "min-response-size"}, 2048);
+        defaults.put(new String[]{"server", "http2", "enabled"}, true);
+        defaults.put(new String[]{SPRING_KEY, "jackson", "default-property-inclusion"}, "non_null");
+        defaults.put(new String[]{SPRING_KEY, "jackson", "serialization", "write-dates-as-timestamps"}, false);
+        defaults.put(new String[]{SPRING_KEY, "jackson", "deserialization", "fail-on-unknown-properties"}, false);
+        if (!fastStartup) {
+            defaults.put(new String[]{SPRING_KEY, MAIN_KEY, LAZY_INITIALIZATION_KEY}, false);
+        }
+        defaults.put(new String[]{"logging", "level", "root"}, "info");
+
+        if (fastStartup) {
+            defaults.put(new String[]{SPRINGDOC_KEY, "api-docs", ENABLED_KEY}, false);
+            defaults.put(new String[]{SPRINGDOC_KEY, "swagger-ui", ENABLED_KEY}, false);
+            defaults.put(new String[]{SPRING_KEY, AUTOCONFIGURE_KEY, EXCLUDE_KEY}, SECURITY_AUTO_CONFIGURATION_VALUE);
+        }
+
         boolean changed = false;
-        Map<String, Object> springMap = getOrCreateNestedMap(ymlMap, SPRING_KEY);
-        Map<String, Object> datasourceMap = getOrCreateNestedMap(springMap, DATASOURCE_KEY);
-
-        if (!Objects.equals(generatorConfig.getBaseConfigs().getJdbcConfig().getUrl(), datasourceMap.get(URL_KEY))) {
-            datasourceMap.put(URL_KEY, generatorConfig.getBaseConfigs().getJdbcConfig().getUrl());
-            datasourceMap.put(USERNAME_KEY, generatorConfig.getBaseConfigs().getJdbcConfig().getUsername());
-            datasourceMap.put(PASSWORD_KEY, generatorConfig.getBaseConfigs().getJdbcConfig().getPassword());
-            datasourceMap.put(DRIVER_CLASS_NAME_KEY, generatorConfig.getBaseConfigs().getJdbcConfig().getDriver());
+        for (Map.Entry<String[], Object> entry : defaults.entrySet()) {
+            changed |= editor.setIfAbsent(entry.getValue(), entry.getKey());
+        }
+        if (fastStartup) {
+            changed |= editor.set(startup.isLazyInitialization(), SPRING_KEY, MAIN_KEY, LAZY_INITIALIZATION_KEY);
+        }
+        if (changed) {
+            log.info("Added production profile defaults. 🏭");
+        }
+    }
+
+    /**
+     * Updates JDBC configuration.
+     *
+     * @param editor          The editor of application.yml.
+     * @param generatorConfig The generator configuration with JDBC details.
+     */
+    private void updateJdbcConfiguration(YamlDocumentEditor editor, GeneratorConfig generatorConfig) {
+        JdbcConfig jdbcConfig = generatorConfig.getBaseConfigs().getJdbcConfig();
+        String url = tuneJdbcUrl(jdbcConfig.getUrl(), generatorConfig.getDatasourceTuning(), hasExportTable(generatorConfig));
+        if (!Objects.equals(url, editor.get(SPRING_KEY, DATASOURCE_KEY, URL_KEY))) {
+            editor.set(url, SPRING_KEY, DATASOURCE_KEY, URL_KEY);
+            editor.set(jdbcConfig.getUsername(), SPRING_KEY, DATASOURCE_KEY, USERNAME_KEY);
+            editor.set(jdbcConfig.getPassword(), SPRING_KEY, DATASOURCE_KEY, PASSWORD_KEY);
+            editor.set(jdbcConfig.getDriver(), SPRING_KEY, DATASOURCE_KEY, DRIVER_CLASS_NAME_KEY);
             log.info("Updated JDBC datasource configuration. 🔗");
-            changed = true;
         }
-        return changed;
     }
 
     /**
-     * Updates Spring profiles configuration in the YAML map.
+     * Appends MySQL driver optimizations to the JDBC url, keeping parameters that are already present:
+     * rewriteBatchedStatements turns batched inserts into multi-row statements, and the prepared statement
+     * cache avoids re-parsing the same SQL on every call. When streaming export is enabled, useCursorFetch
+     * makes the driver honour the statement fetch size with a server-side cursor instead of buffering the
+     * whole result set.
      *
-     * @param ymlMap The overall YAML map.
-     * @return True if modified, false otherwise.
+     * @param url         The configured JDBC url.
+     * @param tuning      The datasource tuning configuration, may be null.
+     * @param cursorFetch Whether any table streams its export through a server-side cursor.
+     * @return The url with the missing driver properties appended.
      */
-    private boolean updateSpringProfiles(Map<String, Object> ymlMap) {
-        boolean changed = false;
-        Map<String, Object> springMap = getOrCreateNestedMap(ymlMap, SPRING_KEY);
-        Map<String, Object> profilesMap = getOrCreateNestedMap(springMap, PROFILES_KEY);
+    private String tuneJdbcUrl(String url, DatasourceTuningConfig tuning, boolean cursorFetch) {
+        if (url == null || !url.startsWith(MYSQL_URL_PREFIX)) {
+            return url;
+        }
+        Map<String, Object> properties = new LinkedHashMap<>();
+        if (tuning != null && tuning.isEnabled() && tuning.isMysqlDriverOptimizations()) {
+            properties.put("rewriteBatchedStatements", true);
+            properties.put("cachePrepStmts", true);
+            properties.put("prepStmtCacheSize", tuning.getPrepStmtCacheSize());
+            properties.put("prepStmtCacheSqlLimit", tuning.getPrepStmtCacheSqlLimit());
+            properties.put("useServerPrepStmts", true);
+        }
+        if (cursorFetch) {
+            properties.put("useCursorFetch", true);
+        }
+        if (properties.isEmpty()) {
+            return url;
+        }
 
-        if (!Objects.equals(DEV_PROFILE_VALUE, profilesMap.get(ACTIVE_KEY))) {
-            profilesMap.put(ACTIVE_KEY, DEV_PROFILE_VALUE);
-            log.info("Set Spring active profile to 'dev'. 🚀");
-            changed = true;
+        int queryStart = url.indexOf('?');
+        Set<String> present = new HashSet<>();
+        if (queryStart >= 0) {
+            for (String pair : url.substring(queryStart + 1).split("&")) {
+                present.add(pair.split("=", 2)[0]);
+            }
         }
-        return changed;
+        StringBuilder tuned = new StringBuilder(url);
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            if (present.contains(property.getKey())) {
+                continue;
+            }
+            tuned.append(tuned.indexOf("?") < 0 ? '?' : '&').append(property.getKey()).append('=').append(property.getValue());
+        }
+        return tuned.toString();
     }
 
     /**
-     * Updates MyBatis Plus configuration in the YAML map.
+     * Updates HikariCP settings: a fixed-size pool derived from the target cores, timeouts and leak detection.
      *
-     * @param ymlMap The overall YAML map.
-     * @return True if modified, false otherwise.
+     * @param editor The editor of application.yml.
+     * @param tuning The datasource tuning configuration.
      */
-    private boolean updateMybatisPlusConfiguration(Map<String, Object> ymlMap) {
+    private void updateHikariConfiguration(YamlDocumentEditor editor, DatasourceTuningConfig tuning) {
+        Map<String, Object> hikari = new LinkedHashMap<>();
+        hikari.put("maximum-pool-size", tuning.resolveMaximumPoolSize());
+        hikari.put("minimum-idle", tuning.resolveMinimumIdle());
+        hikari.put("connection-timeout", tuning.getConnectionTimeoutMs());
+        hikari.put("idle-timeout", tuning.getIdleTimeoutMs());
+        hikari.put("max-lifetime", tuning.getMaxLifetimeMs());
+        hikari.put("leak-detection-threshold", tuning.getLeakDetectionThresholdMs());
+
         boolean changed = false;
-        Map<String, Object> mybatisMap = getOrCreateNestedMap(ymlMap, MYBATIS_PLUS_KEY);
+        for (Map.Entry<String, Object> entry : hikari.entrySet()) {
+            changed |= editor.set(entry.getValue(), SPRING_KEY, DATASOURCE_KEY, HIKARI_KEY, entry.getKey());
+        }
+        if (changed) {
+            log.info("Updated HikariCP pool settings, maximum-pool-size: " + tuning.resolveMaximumPoolSize() + ". 🏊");
+        }
+    }
+
+    /**
+     * Updates Spring profiles configuration.
+     *
+     * @param editor The editor of application.yml.
+     */
+    private void updateSpringProfiles(YamlDocumentEditor editor) {
+        // Only a default, deployments select their profile with SPRING_PROFILES_ACTIVE
+        if (editor.setIfAbsent(DEV_PROFILE_VALUE, SPRING_KEY, PROFILES_KEY, ACTIVE_KEY)) {
+            log.info("Set Spring active profile to 'dev'. 🚀");
+        }
+    }
 
+    /**
+     * Updates MyBatis Plus configuration.
+     *
+     * @param editor The editor of application.yml.
+     */
+    private void updateMybatisPlusConfiguration(YamlDocumentEditor editor) {
         // Mapper locations
-        if (!Objects.equals(MAPPER_LOCATION_VALUE, mybatisMap.get(MAPPER_LOCATIONS_KEY))) {
-            mybatisMap.put(MAPPER_LOCATIONS_KEY, MAPPER_LOCATION_VALUE);
+        if (editor.set(MAPPER_LOCATION_VALUE, MYBATIS_PLUS_KEY, MAPPER_LOCATIONS_KEY)) {
             log.info("Updated MyBatis Plus mapper locations. 🗺️");
-            changed = true;
         }
 
-        // Configuration log-impl
-        Map<String, Object> configurationMap = getOrCreateNestedMap(mybatisMap, CONFIGURATION_KEY);
-        if (!Objects.equals(LOG_IMPL_VALUE, configurationMap.get(LOG_IMPL_KEY))) {
-            configurationMap.put(LOG_IMPL_KEY, LOG_IMPL_VALUE);
-            log.info("Set MyBatis Plus log implementation to StdOutImpl. ✍️");
-            changed = true;
+        // Configuration log-impl: StdOutImpl prints every statement and result row synchronously,
+        // remove the value written by earlier versions from the default profile
+        if (editor.removeIfEquals(LOG_IMPL_VALUE, MYBATIS_PLUS_KEY, CONFIGURATION_KEY, LOG_IMPL_KEY)) {
+            log.info("Removed MyBatis Plus StdOutImpl logging from the default profile. ✍️");
         }
 
         // ADDED: Global config for logic delete
-        Map<String, Object> globalConfigMap = getOrCreateNestedMap(mybatisMap, GLOBAL_CONFIG_KEY);
-        Map<String, Object> dbConfigMap = getOrCreateNestedMap(globalConfigMap, DB_CONFIG_KEY);
-
-        if (!Objects.equals(LOGIC_DELETE_FIELD_VALUE, dbConfigMap.get(LOGIC_DELETE_FIELD_KEY))) {
-            dbConfigMap.put(LOGIC_DELETE_FIELD_KEY, LOGIC_DELETE_FIELD_VALUE);
+        if (editor.set(LOGIC_DELETE_FIELD_VALUE, MYBATIS_PLUS_KEY, GLOBAL_CONFIG_KEY, DB_CONFIG_KEY, LOGIC_DELETE_FIELD_KEY)) {
             log.info("Set MyBatis Plus logic delete field to 'deleted'. 🗑️");
-            changed = true;
         }
-        if (!Objects.equals(LOGIC_DELETE_VALUE, dbConfigMap.get(LOGIC_DELETE_VALUE_KEY))) {
-            dbConfigMap.put(LOGIC_DELETE_VALUE_KEY, LOGIC_DELETE_VALUE);
+        if (editor.set(LOGIC_DELETE_VALUE, MYBATIS_PLUS_KEY, GLOBAL_CONFIG_KEY, DB_CONFIG_KEY, LOGIC_DELETE_VALUE_KEY)) {
             log.info("Set MyBatis Plus logic delete value to '1'. ✔️");
-            changed = true;
         }
-        if (!Objects.equals(LOGIC_NOT_DELETE_VALUE, dbConfigMap.get(LOGIC_NOT_DELETE_VALUE_KEY))) {
-            dbConfigMap.put(LOGIC_NOT_DELETE_VALUE_KEY, LOGIC_NOT_DELETE_VALUE);
+        if (editor.set(LOGIC_NOT_DELETE_VALUE, MYBATIS_PLUS_KEY, GLOBAL_CONFIG_KEY, DB_CONFIG_KEY, LOGIC_NOT_DELETE_VALUE_KEY)) {
             log.info("Set MyBatis Plus logic not delete value to '0'. ✖️");
-            changed = true;
         }
-        return changed;
     }
 
     /**
-     * Updates Swagger authentication configuration in the YAML map.
+     * Writes a Caffeine spec for every table with caching enabled to app.cache.specs.{tableName},
+     * read by the generated CacheConfig.
      *
-     * @param ymlMap The overall YAML map.
-     * @return True if modified, false otherwise.
+     * @param editor The editor of application.yml.
+     * @param tables The table configurations.
      */
-    private boolean updateSwaggerConfiguration(Map<String, Object> ymlMap) {
-        boolean changed = false;
-        Map<String, Object> swaggerMap = getOrCreateNestedMap(ymlMap, SWAGGER_KEY);
-        Map<String, Object> authMap = getOrCreateNestedMap(swaggerMap, AUTH_KEY);
+    private void updateCacheConfiguration(YamlDocumentEditor editor, List<TableConfig> tables) {
+        for (TableConfig table : tables) {
+            if (!table.isCacheEnabled()) {
+                continue;
+            }
+            String spec = "maximumSize=" + table.getCacheMaximumSize() + ",expireAfterWrite=" + table.getCacheTtlSeconds() + "s";
+            if (editor.set(spec, APP_KEY, CACHE_KEY, SPECS_KEY, table.getTableName())) {
+                log.info("Updated cache spec of table '" + table.getTableName() + "': " + spec + ". 🗄️");
+            }
+        }
+    }
 
-        if (!Objects.equals(ADMIN_VALUE, authMap.get(USERNAME_KEY))) {
-            authMap.put(USERNAME_KEY, ADMIN_VALUE);
+    /**
+     * Updates Swagger authentication configuration.
+     *
+     * @param editor The editor of application.yml.
+     */
+    private void updateSwaggerConfiguration(YamlDocumentEditor editor) {
+        if (editor.set(ADMIN_VALUE, SWAGGER_KEY, AUTH_KEY, USERNAME_KEY)) {
             log.info("Updated Swagger auth username to 'admin'. 👤");
-            changed = true;
         }
-        if (!Objects.equals(ADMIN_VALUE, authMap.get(PASSWORD_KEY))) {
-            authMap.put(PASSWORD_KEY, ADMIN_VALUE);
+        if (editor.set(ADMIN_VALUE, SWAGGER_KEY, AUTH_KEY, PASSWORD_KEY)) {
             log.info("Updated Swagger auth password to 'admin'. 🔑");
-            changed = true;
         }
-        return changed;
     }
 }
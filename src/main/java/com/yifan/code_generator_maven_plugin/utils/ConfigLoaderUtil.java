@@ -13,38 +13,31 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 public final class ConfigLoaderUtil {
-    private static volatile ConfigLoaderUtil instance = null;
+    private static final String FEATURE_KEY = "feature";
+    private static final String NATIVE_PLUGIN_ARTIFACT_ID = "native-maven-plugin";
+    private static final String MAIN_CLASS_KEY = "mainClass";
     private static final Gson GSON_PRINTER = new GsonBuilder().setPrettyPrinting().create();
 
     private final MavenProject mavenProject;
     private final Log log;
 
-    private ConfigLoaderUtil(MavenProject mavenProject, Log log) {
+    /**
+     * 每个模块各自创建，配置文件、basedir、artifactId和Java版本都取自传入的项目，
+     * 多模块构建中不同模块之间不共享实例
+     */
+    public ConfigLoaderUtil(MavenProject mavenProject, Log log) {
         this.mavenProject = mavenProject;
         this.log = log;
     }
 
-    /***
-     * 单例方法
-     * @param mavenProject
-     * @param log
-     * @return
-     */
-    public static ConfigLoaderUtil getInstance(MavenProject mavenProject, Log log) {
-        if (instance == null) {
-            synchronized (ConfigLoaderUtil.class) {
-                if (instance == null) {
-                    instance = new ConfigLoaderUtil(mavenProject, log);
-                }
-            }
-        }
-        return instance;
-    }
-
     /**
      * 对外接口，返回调用插件后合并得到的最终配置信息
      *
@@ -58,6 +51,12 @@ public final class ConfigLoaderUtil {
         printInfoLog("读取用户配置信息：", userConfig);
 
         GeneratorConfig mergedConfig = mergeConfigs(pluginConfig, userConfig);
+        fillColumnDbNames(mergedConfig.getModelSettings());
+        validateSearchModes(mergedConfig.getModelSettings());
+        resolveRelations(mergedConfig.getModelSettings());
+        removeUnusedFeatureEntries(mergedConfig);
+        applyExecutionMode(mergedConfig);
+        applyNativeImage(mergedConfig);
         printInfoLog("合并后处理配置信息：", mergedConfig);
 
         return mergedConfig;
@@ -122,6 +121,7 @@ public final class ConfigLoaderUtil {
      * 1. baseConfigs: 直接使用userConfig中的数据，但typeMapping需要考虑是合并处理，userConfig中的同名会覆盖前者
      * 2. modelSettings与pomSetting都是根据appendMode进行处理，overwrite模式下，直接忽略插件中配置，但properties节除外，必须包含插件总配置的值
      * 3. swagger配置以userConfig为准，用户没有配置时，使用插件中配置
+     * 4. datasourceTuning、execution、metrics、startup、benchmark配置与swagger相同
      *
      * @param pluginConfig
      * @param userConfig
@@ -146,6 +146,49 @@ public final class ConfigLoaderUtil {
             mergedConfig.setSwagger(pluginConfig.getSwagger());
         }
 
+        // datasourceTuning 同样以userConfig为准
+        if (userConfig.getDatasourceTuning() != null) {
+            mergedConfig.setDatasourceTuning(userConfig.getDatasourceTuning());
+        } else {
+            mergedConfig.setDatasourceTuning(pluginConfig.getDatasourceTuning());
+        }
+
+        // execution
+        if (userConfig.getExecution() != null) {
+            mergedConfig.setExecution(userConfig.getExecution());
+        } else if (pluginConfig.getExecution() != null) {
+            mergedConfig.setExecution(pluginConfig.getExecution());
+        } else {
+            mergedConfig.setExecution(new ExecutionConfig());
+        }
+
+        // metrics
+        if (userConfig.getMetrics() != null) {
+            mergedConfig.setMetrics(userConfig.getMetrics());
+        } else if (pluginConfig.getMetrics() != null) {
+            mergedConfig.setMetrics(pluginConfig.getMetrics());
+        } else {
+            mergedConfig.setMetrics(new MetricsConfig());
+        }
+
+        // startup
+        if (userConfig.getStartup() != null) {
+            mergedConfig.setStartup(userConfig.getStartup());
+        } else if (pluginConfig.getStartup() != null) {
+            mergedConfig.setStartup(pluginConfig.getStartup());
+        } else {
+            mergedConfig.setStartup(new StartupConfig());
+        }
+
+        // benchmark
+        if (userConfig.getBenchmark() != null) {
+            mergedConfig.setBenchmark(userConfig.getBenchmark());
+        } else if (pluginConfig.getBenchmark() != null) {
+            mergedConfig.setBenchmark(pluginConfig.getBenchmark());
+        } else {
+            mergedConfig.setBenchmark(new BenchmarkConfig());
+        }
+
         return mergedConfig;
     }
 
@@ -232,6 +275,214 @@ public final class ConfigLoaderUtil {
 
     }
 
+    /**
+     * 补全字段的数据库列名（java字段名转下划线），模板中生成SQL时直接使用
+     *
+     * @param modelSetting
+     */
+    private void fillColumnDbNames(ModelSetting modelSetting) {
+        if (modelSetting == null) {
+            return;
+        }
+        for (TableConfig table : modelSetting.getTables()) {
+            for (ColumnDefinition column : table.getColumns()) {
+                if (column.getDbName() == null || column.getDbName().isBlank()) {
+                    column.setDbName(CommonFunc.toSnakeCase(column.getJavaName()));
+                }
+            }
+        }
+    }
+
+    /**
+     * 校验字段的查询匹配方式：前缀和全文检索只能用于String字段，范围查询只能用于数字和日期字段
+     *
+     * @param modelSetting
+     */
+    private void validateSearchModes(ModelSetting modelSetting) {
+        if (modelSetting == null) {
+            return;
+        }
+        for (TableConfig table : modelSetting.getTables()) {
+            for (ColumnDefinition column : table.getColumns()) {
+                String mode = column.resolveSearchMode();
+                String where = "column '" + column.getJavaName() + "' of table '" + table.getTableName() + "'";
+                if (!Constants.SearchModeConstants.ALL.contains(mode)) {
+                    throw new IllegalArgumentException("Unknown searchMode '" + column.getSearchMode() + "' on " + where
+                            + ", expected one of: " + String.join(", ", new TreeSet<>(Constants.SearchModeConstants.ALL)));
+                }
+                if ((Constants.SearchModeConstants.PREFIX.equals(mode) || Constants.SearchModeConstants.FULLTEXT.equals(mode))
+                        && !"String".equals(column.getJavaType())) {
+                    throw new IllegalArgumentException("searchMode '" + mode + "' on " + where + " requires a String column");
+                }
+                if (Constants.SearchModeConstants.RANGE.equals(mode)
+                        && !Constants.SearchModeConstants.RANGE_JAVA_TYPES.contains(column.getJavaType())) {
+                    throw new IllegalArgumentException("searchMode 'range' on " + where + " requires a numeric or date column");
+                }
+            }
+        }
+    }
+
+    /**
+     * 校验表关联并填充关联表配置和外键列名：关联表必须已配置，外键必须是Long字段，eager只支持many-to-one
+     *
+     * @param modelSetting
+     */
+    private void resolveRelations(ModelSetting modelSetting) {
+        if (modelSetting == null) {
+            return;
+        }
+        Map<String, TableConfig> tablesByEntity = modelSetting.getTables().stream()
+                .collect(Collectors.toMap(TableConfig::getEntityName, table -> table, (a, b) -> a));
+        for (TableConfig table : modelSetting.getTables()) {
+            for (RelationConfig relation : table.getRelations()) {
+                String where = "relation to '" + relation.getTarget() + "' of table '" + table.getTableName() + "'";
+                if (!Constants.RelationConstants.MANY_TO_ONE.equals(relation.getType())
+                        && !Constants.RelationConstants.ONE_TO_MANY.equals(relation.getType())) {
+                    throw new IllegalArgumentException("Unknown type '" + relation.getType() + "' on " + where
+                            + ", expected many-to-one or one-to-many");
+                }
+                if (!Constants.RelationConstants.LAZY.equals(relation.getFetch()) && !relation.isEager()) {
+                    throw new IllegalArgumentException("Unknown fetch '" + relation.getFetch() + "' on " + where + ", expected lazy or eager");
+                }
+                // 一对多的JOIN会让主表的行重复，分页的LIMIT按重复后的行计算，只能批量加载
+                if (relation.isEager() && !relation.isManyToOne()) {
+                    throw new IllegalArgumentException("fetch 'eager' on " + where + " is only supported for many-to-one, use lazy");
+                }
+                TableConfig target = tablesByEntity.get(relation.getTarget());
+                if (target == null) {
+                    throw new IllegalArgumentException("Unknown target entity on " + where);
+                }
+                TableConfig foreignKeyTable = relation.isManyToOne() ? table : target;
+                ColumnDefinition foreignKey = foreignKeyTable.getColumns().stream()
+                        .filter(column -> column.getJavaName().equals(relation.getForeignKey()))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("foreignKey '" + relation.getForeignKey() + "' on " + where
+                                + " is not a column of table '" + foreignKeyTable.getTableName() + "'"));
+                if (!"Long".equals(foreignKey.getJavaType())) {
+                    throw new IllegalArgumentException("foreignKey '" + relation.getForeignKey() + "' on " + where + " must be a Long column");
+                }
+                if (relation.getName() == null || relation.getName().isBlank()) {
+                    String name = CommonFunc.lowerFirst(target.getEntityName());
+                    relation.setName(relation.isManyToOne() ? name : name + "List");
+                }
+                if (table.getColumns().stream().anyMatch(column -> column.getJavaName().equals(relation.getName()))) {
+                    throw new IllegalArgumentException("Relation name '" + relation.getName() + "' of table '" + table.getTableName()
+                            + "' clashes with a column");
+                }
+                relation.setTargetTable(target);
+                relation.setForeignKeyDbName(foreignKey.getDbName());
+                // 缓存中的VO带有关联数据，关联表写入后需要清空本表的缓存
+                if (table.isCacheEnabled() && !target.getDependentCacheNames().contains(table.getTableName())) {
+                    target.getDependentCacheNames().add(table.getTableName());
+                }
+            }
+        }
+    }
+
+    /**
+     * 去掉没有任何表或全局配置启用其特性的依赖、插件和插件execution，例如没有表开启缓存时不添加Caffeine
+     *
+     * @param config
+     */
+    private void removeUnusedFeatureEntries(GeneratorConfig config) {
+        PomSetting pomSetting = config.getPomSettings();
+        if (pomSetting == null || config.getModelSettings() == null) {
+            return;
+        }
+        if (pomSetting.getDependencies() != null) {
+            pomSetting.setDependencies(pomSetting.getDependencies().stream()
+                    .filter(dep -> config.isFeatureEnabled(dep.getFeature()))
+                    .collect(Collectors.toList()));
+        }
+        if (pomSetting.getBuildPlugins() != null) {
+            pomSetting.setBuildPlugins(pomSetting.getBuildPlugins().stream()
+                    .filter(plugin -> config.isFeatureEnabled(plugin.getFeature()))
+                    .collect(Collectors.toList()));
+            for (PluginConfig plugin : pomSetting.getBuildPlugins()) {
+                if (plugin.getExecutions() != null) {
+                    plugin.setExecutions(plugin.getExecutions().stream()
+                            .filter(execution -> config.isFeatureEnabled((String) execution.get(FEATURE_KEY)))
+                            .collect(Collectors.toList()));
+                }
+            }
+        }
+    }
+
+    /**
+     * 校验执行方式；虚拟线程模式要求项目的Java版本不低于21，否则 spring.threads.virtual.enabled 不会生效
+     *
+     * @param config
+     */
+    private void applyExecutionMode(GeneratorConfig config) {
+        ExecutionConfig execution = config.getExecution();
+        String mode = execution.getMode();
+        if (!Constants.ExecutionModeConstants.PLATFORM.equalsIgnoreCase(mode) && !execution.isVirtualThreads()
+                && !execution.isAsync()) {
+            throw new IllegalArgumentException("Unknown execution mode '" + mode + "', expected one of: "
+                    + Constants.ExecutionModeConstants.PLATFORM + ", " + Constants.ExecutionModeConstants.VIRTUAL
+                    + ", " + Constants.ExecutionModeConstants.ASYNC);
+        }
+        if (!execution.isVirtualThreads()) {
+            return;
+        }
+        Integer javaVersion = projectJavaVersion();
+        if (javaVersion != null && javaVersion < Constants.ExecutionModeConstants.VIRTUAL_THREADS_JAVA_VERSION) {
+            throw new IllegalArgumentException("execution mode '" + Constants.ExecutionModeConstants.VIRTUAL
+                    + "' requires Java " + Constants.ExecutionModeConstants.VIRTUAL_THREADS_JAVA_VERSION
+                    + " but the project compiles for Java " + javaVersion
+                    + ", set <java.version>" + Constants.ExecutionModeConstants.VIRTUAL_THREADS_JAVA_VERSION
+                    + "</java.version> in pom.xml or use mode platform");
+        }
+    }
+
+    /**
+     * 项目编译的目标Java版本，按 maven.compiler.release、maven.compiler.source、java.version 的顺序读取
+     * 项目的有效属性（包含父POM，例如spring-boot-starter-parent中的java.version），都未配置或无法解析时返回 null
+     */
+    private Integer projectJavaVersion() {
+        if (mavenProject == null) {
+            return null;
+        }
+        Properties properties = mavenProject.getProperties();
+        for (String key : new String[]{"maven.compiler.release", "maven.compiler.source", "java.version"}) {
+            String version = properties.getProperty(key);
+            if (version == null || version.isBlank()) {
+                continue;
+            }
+            version = version.trim();
+            if (version.startsWith("1.")) {
+                version = version.substring(2);
+            }
+            return version.matches("\\d+") ? Integer.valueOf(version) : null;
+        }
+        return null;
+    }
+
+    /**
+     * native-image构建需要知道应用的主类，spring-boot-maven-plugin打包后的jar中Main-Class是JarLauncher，
+     * 这里按生成的 ${moduleName}Application 计算主类，写入native-maven-plugin的mainClass配置。用户已配置时不覆盖。
+     */
+    private void applyNativeImage(GeneratorConfig config) {
+        if (config.getStartup() == null || !config.getStartup().isNativeImage() || config.getPomSettings() == null
+                || config.getPomSettings().getBuildPlugins() == null || config.getBaseConfigs() == null) {
+            return;
+        }
+        String mainClass = CommonFunc.buildProjectPackage(config.getBaseConfigs().getBasePackagePrefix(),
+                mavenProject.getArtifactId()) + "." + CommonFunc.convertToPascalCase(mavenProject.getArtifactId())
+                + "Application";
+        for (PluginConfig plugin : config.getPomSettings().getBuildPlugins()) {
+            if (!NATIVE_PLUGIN_ARTIFACT_ID.equals(plugin.getArtifactId())) {
+                continue;
+            }
+            if (plugin.getConfiguration() == null) {
+                plugin.setConfiguration(new LinkedHashMap<>());
+            }
+            if (plugin.getConfiguration().putIfAbsent(MAIN_CLASS_KEY, mainClass) == null) {
+                printInfoLog("Native image main class: " + mainClass);
+            }
+        }
+    }
+
     /**
      * 合并处理依赖、插件信息
      *
@@ -0,0 +1,371 @@
+package com.yifan.code_generator_maven_plugin.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.yifan.code_generator_maven_plugin.model.ArtifactReport;
+import com.yifan.code_generator_maven_plugin.model.DependencyReport;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * @Description: 对解析后的依赖图做分析：jar大小、重复构件、版本/类冲突以及未使用的直接依赖。
+ * 每个构件的扫描和编译产物的字节码扫描并行进行；结果以依赖图哈希为键缓存在 target 目录下，
+ * 依赖和编译产物都没有变化时直接读取缓存。
+ */
+public class DependencyGraphAnalyzer {
+
+    private static final String CACHE_DIR = "code_generator/dependency-analysis";
+    private static final String CLASS_SUFFIX = ".class";
+    private static final Pattern DESCRIPTOR_CLASS = Pattern.compile("L([\\w/$]+);");
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final MavenProject project;
+    private final Log log;
+
+    public DependencyGraphAnalyzer(MavenProject project, Log log) {
+        this.project = project;
+        this.log = log;
+    }
+
+    /**
+     * 单个构件的扫描结果
+     */
+    private static final class ArtifactScan {
+        private final Artifact artifact;
+        private final long size;
+        private final Set<String> classes;
+
+        private ArtifactScan(Artifact artifact, long size, Set<String> classes) {
+            this.artifact = artifact;
+            this.size = size;
+            this.classes = classes;
+        }
+    }
+
+    /**
+     * 分析当前项目解析后的依赖图。
+     *
+     * @param scope    只分析该scope的构件，为空时分析全部
+     * @param useCache 是否使用/写入缓存
+     * @return 分析结果
+     * @throws IOException 读取jar或缓存文件失败时抛出
+     */
+    public DependencyReport analyze(String scope, boolean useCache) throws IOException {
+        List<Artifact> artifacts = resolvedArtifacts(scope);
+        File classesDir = new File(project.getBuild().getOutputDirectory());
+        List<Path> classFiles = listClassFiles(classesDir);
+        String graphHash = graphHash(artifacts, classFiles);
+
+        File cacheFile = new File(project.getBuild().getDirectory(), CACHE_DIR + "/" + graphHash + ".json");
+        if (useCache && cacheFile.isFile()) {
+            printInfoLog("Dependency graph unchanged, using cached analysis: " + cacheFile);
+            try (Reader reader = new InputStreamReader(new FileInputStream(cacheFile), StandardCharsets.UTF_8)) {
+                return GSON.fromJson(reader, DependencyReport.class);
+            }
+        }
+
+        // 1. 并行扫描每个构件和编译产物
+        List<ArtifactScan> scans = artifacts.parallelStream()
+                .map(this::scanArtifact)
+                .collect(Collectors.toList());
+        Set<String> referencedClasses = classFiles.parallelStream()
+                .flatMap(DependencyGraphAnalyzer::referencedClasses)
+                .collect(Collectors.toSet());
+
+        // 2. 汇总结果
+        DependencyReport report = new DependencyReport();
+        report.setGraphHash(graphHash);
+        for (ArtifactScan scan : scans) {
+            ArtifactReport artifactReport = new ArtifactReport();
+            artifactReport.setCoordinates(scan.artifact.getId());
+            artifactReport.setScope(scan.artifact.getScope());
+            artifactReport.setDirect(isDirect(scan.artifact));
+            artifactReport.setPulledBy(pulledBy(scan.artifact));
+            artifactReport.setSizeBytes(scan.size);
+            artifactReport.setClassCount(scan.classes.size());
+            report.getArtifacts().add(artifactReport);
+            report.setTotalSizeBytes(report.getTotalSizeBytes() + scan.size);
+        }
+        report.getArtifacts().sort(Comparator.comparingLong(ArtifactReport::getSizeBytes).reversed());
+        report.setDuplicates(findDuplicates(artifacts));
+        report.getConflicts().addAll(findVersionConflicts(artifacts));
+        report.getConflicts().addAll(findClassConflicts(scans));
+        findUnusedDeclared(scans, referencedClasses, report);
+
+        if (useCache) {
+            cacheFile.getParentFile().mkdirs();
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(cacheFile), StandardCharsets.UTF_8)) {
+                GSON.toJson(report, writer);
+            }
+        }
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Artifact> resolvedArtifacts(String scope) {
+        Set<Artifact> resolved = project.getArtifacts();
+        if (resolved == null) {
+            return Collections.emptyList();
+        }
+        return resolved.stream()
+                .filter(a -> scope == null || scope.isEmpty() || scope.equalsIgnoreCase(a.getScope()))
+                .sorted(Comparator.comparing(Artifact::getId))
+                .collect(Collectors.toList());
+    }
+
+    private ArtifactScan scanArtifact(Artifact artifact) {
+        File file = artifact.getFile();
+        if (file == null || !file.exists()) {
+            return new ArtifactScan(artifact, 0L, Collections.emptySet());
+        }
+        Set<String> classes = new HashSet<>();
+        try {
+            if (file.isDirectory()) {
+                // reactor中的其他模块，解析结果指向其 target/classes
+                Path root = file.toPath();
+                long size = 0L;
+                for (Path classFile : listClassFiles(file)) {
+                    size += Files.size(classFile);
+                    classes.add(toClassName(root.relativize(classFile).toString().replace(File.separatorChar, '/')));
+                }
+                return new ArtifactScan(artifact, size, classes);
+            }
+            try (ZipFile zip = new ZipFile(file)) {
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    String name = entries.nextElement().getName();
+                    if (name.endsWith(CLASS_SUFFIX) && !name.startsWith("META-INF/") && !name.endsWith("module-info.class")) {
+                        classes.add(toClassName(name));
+                    }
+                }
+            }
+            return new ArtifactScan(artifact, file.length(), classes);
+        } catch (IOException e) {
+            log.warn("Unable to scan " + file + ": " + e.getMessage());
+            return new ArtifactScan(artifact, file.length(), classes);
+        }
+    }
+
+    private static String toClassName(String entryName) {
+        return entryName.substring(0, entryName.length() - CLASS_SUFFIX.length()).replace('/', '.');
+    }
+
+    private static List<Path> listClassFiles(File dir) throws IOException {
+        if (!dir.isDirectory()) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> paths = Files.walk(dir.toPath())) {
+            return paths.filter(p -> p.toString().endsWith(CLASS_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 从class文件的常量池中读取引用到的类：CONSTANT_Class 以及各类描述符/签名中的类型。
+     */
+    private static Stream<String> referencedClasses(Path classFile) {
+        Set<String> referenced = new HashSet<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(classFile)))) {
+            if (in.readInt() != 0xCAFEBABE) {
+                return Stream.empty();
+            }
+            in.readUnsignedShort(); // minor
+            in.readUnsignedShort(); // major
+            int count = in.readUnsignedShort();
+            String[] utf8 = new String[count];
+            List<Integer> classNameIndexes = new ArrayList<>();
+            for (int i = 1; i < count; i++) {
+                int tag = in.readUnsignedByte();
+                switch (tag) {
+                    case 1: // Utf8
+                        utf8[i] = in.readUTF();
+                        break;
+                    case 7: // Class
+                        classNameIndexes.add(in.readUnsignedShort());
+                        break;
+                    case 8: case 16: case 19: case 20: // String, MethodType, Module, Package
+                        in.skipBytes(2);
+                        break;
+                    case 15: // MethodHandle
+                        in.skipBytes(3);
+                        break;
+                    case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                        in.skipBytes(4);
+                        break;
+                    case 5: case 6: // Long, Double 占两个槽位
+                        in.skipBytes(8);
+                        i++;
+                        break;
+                    default:
+                        return Stream.empty();
+                }
+            }
+            for (int index : classNameIndexes) {
+                String name = utf8[index];
+                if (name != null && !name.startsWith("[")) {
+                    referenced.add(name.replace('/', '.'));
+                }
+            }
+            for (String value : utf8) {
+                if (value != null && value.indexOf(';') > 0) {
+                    Matcher matcher = DESCRIPTOR_CLASS.matcher(value);
+                    while (matcher.find()) {
+                        referenced.add(matcher.group(1).replace('/', '.'));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return Stream.empty();
+        }
+        return referenced.stream();
+    }
+
+    /**
+     * 依赖图哈希：全部构件坐标、scope、文件大小和修改时间，以及编译产物的大小和修改时间。
+     */
+    private static String graphHash(List<Artifact> artifacts, List<Path> classFiles) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Artifact artifact : artifacts) {
+                File file = artifact.getFile();
+                String line = artifact.getId() + "|" + artifact.getScope() + "|"
+                        + (file == null ? 0 : file.length()) + "|" + (file == null ? 0 : file.lastModified()) + "\n";
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+            }
+            for (Path classFile : classFiles) {
+                String line = classFile + "|" + Files.size(classFile) + "|" + Files.getLastModifiedTime(classFile).toMillis() + "\n";
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isDirect(Artifact artifact) {
+        List<String> trail = artifact.getDependencyTrail();
+        return trail == null || trail.size() <= 2;
+    }
+
+    private static String pulledBy(Artifact artifact) {
+        List<String> trail = artifact.getDependencyTrail();
+        return trail == null || trail.size() <= 2 ? null : trail.get(1);
+    }
+
+    /**
+     * 同一artifactId以不同groupId或classifier同时出现在依赖图中
+     */
+    private static List<String> findDuplicates(List<Artifact> artifacts) {
+        Map<String, List<Artifact>> byArtifactId = artifacts.stream()
+                .collect(Collectors.groupingBy(Artifact::getArtifactId, TreeMap::new, Collectors.toList()));
+        List<String> duplicates = new ArrayList<>();
+        byArtifactId.forEach((artifactId, group) -> {
+            if (group.size() > 1) {
+                duplicates.add(artifactId + ": " + group.stream().map(Artifact::getId).collect(Collectors.joining(", ")));
+            }
+        });
+        return duplicates;
+    }
+
+    /**
+     * 声明版本（含dependencyManagement）与最终解析版本不一致的依赖
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> findVersionConflicts(List<Artifact> artifacts) {
+        Map<String, String> declared = new HashMap<>();
+        if (project.getDependencyManagement() != null) {
+            for (Dependency dep : project.getDependencyManagement().getDependencies()) {
+                declared.put(dep.getManagementKey(), dep.getVersion());
+            }
+        }
+        for (Dependency dep : (List<Dependency>) project.getDependencies()) {
+            if (dep.getVersion() != null) {
+                declared.put(dep.getManagementKey(), dep.getVersion());
+            }
+        }
+
+        List<String> conflicts = new ArrayList<>();
+        for (Artifact artifact : artifacts) {
+            String key = artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getType()
+                    + (artifact.getClassifier() != null ? ":" + artifact.getClassifier() : "");
+            String declaredVersion = declared.get(key);
+            if (declaredVersion != null && !declaredVersion.equals(artifact.getBaseVersion())
+                    && !declaredVersion.equals(artifact.getVersion())) {
+                conflicts.add(artifact.getDependencyConflictId() + ": declared " + declaredVersion
+                        + " but resolved " + artifact.getVersion()
+                        + (pulledBy(artifact) != null ? " (via " + pulledBy(artifact) + ")" : ""));
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * 同名类出现在多个jar中，运行时实际加载哪个取决于classpath顺序
+     */
+    private static List<String> findClassConflicts(List<ArtifactScan> scans) {
+        Map<String, String> owner = new HashMap<>();
+        Map<String, Integer> sharedCounts = new TreeMap<>();
+        Map<String, String> samples = new HashMap<>();
+        for (ArtifactScan scan : scans) {
+            String id = scan.artifact.getId();
+            for (String className : scan.classes) {
+                String previous = owner.putIfAbsent(className, id);
+                if (previous != null && !previous.equals(id)) {
+                    String pair = previous + " <-> " + id;
+                    sharedCounts.merge(pair, 1, Integer::sum);
+                    samples.putIfAbsent(pair, className);
+                }
+            }
+        }
+        List<String> conflicts = new ArrayList<>();
+        sharedCounts.forEach((pair, count) ->
+                conflicts.add(pair + ": " + count + " duplicate classes, e.g. " + samples.get(pair)));
+        return conflicts;
+    }
+
+    /**
+     * 直接声明的compile/provided依赖中，编译产物没有引用到其任何类的依赖
+     */
+    private static void findUnusedDeclared(List<ArtifactScan> scans, Set<String> referencedClasses,
+                                           DependencyReport report) {
+        for (ArtifactScan scan : scans) {
+            String scope = scan.artifact.getScope();
+            if (!isDirect(scan.artifact)
+                    || !(Artifact.SCOPE_COMPILE.equals(scope) || Artifact.SCOPE_PROVIDED.equals(scope))) {
+                continue;
+            }
+            if (scan.classes.isEmpty()) {
+                report.getNoClassDeclared().add(scan.artifact.getId());
+            } else if (Collections.disjoint(scan.classes, referencedClasses)) {
+                report.getUnusedDeclared().add(scan.artifact.getId());
+            }
+        }
+    }
+
+    private void printInfoLog(String logInfo) {
+        if (log.isInfoEnabled()) {
+            log.info(logInfo);
+        }
+    }
+}
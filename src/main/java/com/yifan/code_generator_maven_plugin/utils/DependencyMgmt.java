@@ -3,6 +3,7 @@ package com.yifan.code_generator_maven_plugin.utils;
 import com.yifan.code_generator_maven_plugin.model.DependencyInfo;
 import com.yifan.code_generator_maven_plugin.model.PluginConfig;
 import com.yifan.code_generator_maven_plugin.model.ResourceConfig;
+import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.apache.maven.model.*;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
@@ -12,6 +13,7 @@ import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 
 /**
@@ -31,6 +33,13 @@ public class DependencyMgmt {
         Model readModel(File pomFile) throws IOException, XmlPullParserException;
 
         void writeModel(Model model, File pomFile) throws IOException;
+
+        /**
+         * 将记录的修改写回POM文件，默认实现为整体重写。
+         */
+        default void writeEdits(Model model, List<PomEdit> edits, File pomFile) throws IOException {
+            writeModel(model, pomFile);
+        }
     }
 
     /**
@@ -56,19 +65,50 @@ public class DependencyMgmt {
                 writer.write(osw, model);
             }
         }
+
+        /**
+         * 在原文件文本上直接应用修改，保留注释和格式；无法定位修改位置时回退为整体重写。
+         */
+        @Override
+        public void writeEdits(Model model, List<PomEdit> edits, File pomFile) throws IOException {
+            String original = new String(Files.readAllBytes(pomFile.toPath()), StandardCharsets.UTF_8);
+            String updated;
+            try {
+                updated = new PomTextEditor(original).apply(edits);
+            } catch (IllegalStateException e) {
+                writeModel(model, pomFile);
+                return;
+            }
+            if (!updated.equals(original)) {
+                Files.write(pomFile.toPath(), updated.getBytes(StandardCharsets.UTF_8));
+            }
+        }
     }
 
     private final PomReader pomReader;
+    private final PomModelCache modelCache;
 
     public DependencyMgmt() {
-        this.pomReader = new DefaultPomReader();
+        this(new DefaultPomReader(), null);
     }
 
     /**
      * 用于测试的构造函数，允许注入模拟的PomReader。
      */
     public DependencyMgmt(PomReader pomReader) {
+        this(pomReader, null);
+    }
+
+    /**
+     * 使用reactor共享的解析缓存，多个模块共用同一个父POM时只解析一次。
+     */
+    public DependencyMgmt(PomModelCache modelCache) {
+        this(new DefaultPomReader(), modelCache);
+    }
+
+    public DependencyMgmt(PomReader pomReader, PomModelCache modelCache) {
         this.pomReader = pomReader;
+        this.modelCache = modelCache;
     }
 
     /**
@@ -78,42 +118,63 @@ public class DependencyMgmt {
      *
      * @param mavenProject The current Maven project.
      * @param dependencies The list of dependencies to add.
+     * @return True if the POM file was modified, false if it was already up-to-date.
      * @throws IOException            When an error occurs reading or writing the
      *                                POM file.
      * @throws XmlPullParserException When an error occurs parsing the POM file.
      */
-    public void addDependenciesFromPlugin(MavenProject mavenProject, List<DependencyInfo> dependencies,
-                                          List<PluginConfig> plugins, List<ResourceConfig> resourceConfigs)
+    public boolean addDependenciesFromPlugin(MavenProject mavenProject, List<DependencyInfo> dependencies,
+                                             List<PluginConfig> plugins, List<ResourceConfig> resourceConfigs)
+            throws IOException, XmlPullParserException {
+        return addDependenciesFromPlugin(mavenProject, dependencies, plugins, resourceConfigs, false);
+    }
+
+    /**
+     * Same as {@link #addDependenciesFromPlugin(MavenProject, List, List, List)}, but the write can be deferred
+     * to {@link #flushPendingWrites()} so that all POMs of a reactor build are written once at the end.
+     *
+     * @param deferWrite Whether to keep the changes in the shared model cache instead of writing them now.
+     *                   Requires a {@link PomModelCache}.
+     * @return True if the POM file was modified (or has pending modifications).
+     */
+    public boolean addDependenciesFromPlugin(MavenProject mavenProject, List<DependencyInfo> dependencies,
+                                             List<PluginConfig> plugins, List<ResourceConfig> resourceConfigs,
+                                             boolean deferWrite)
             throws IOException, XmlPullParserException {
         File projectDir = mavenProject.getBasedir();
         File parentDir = mavenProject.getParent() != null ? mavenProject.getParent().getBasedir() : null;
-        addDependenciesToAppropriatePom(projectDir, parentDir, dependencies, plugins, resourceConfigs);
+        return addDependenciesToAppropriatePom(projectDir, parentDir, dependencies, plugins, resourceConfigs,
+                deferWrite);
+    }
+
+    /**
+     * 写回共享缓存中所有延迟写入的POM。
+     *
+     * @return 实际写入的文件
+     */
+    public List<File> flushPendingWrites() throws IOException {
+        return modelCache == null ? Collections.emptyList() : modelCache.flush(pomReader);
     }
 
     /**
      * Handles the addition or update of resource exclusions from a list of ResourceConfig objects.
      *
-     * @param model           The Maven Model to modify.
+     * @param pom             The indexed Maven Model to modify.
      * @param resourceConfigs The list of resource configurations to apply.
      */
-    private static void handleResources(Model model, List<ResourceConfig> resourceConfigs) {
+    private static void handleResources(PomModelIndex pom, List<ResourceConfig> resourceConfigs) {
         if (resourceConfigs == null) return;
 
         for (ResourceConfig resCfg : resourceConfigs) {
             String dir = resCfg.getDirectory();
             List<String> excludes = resCfg.getExcludes();
 
-            Optional<Resource> existingRes = model.getBuild().getResources().stream()
-                    .filter(r -> r.getDirectory().equals(dir))
-                    .findFirst();
-
-            if (existingRes.isPresent()) {
+            Resource existingRes = pom.getResource(dir);
+            if (existingRes != null) {
                 // 如果存在，则添加排除项
-                Resource r = existingRes.get();
+                if (excludes == null) continue;
                 for (String ex : excludes) {
-                    if (!r.getExcludes().contains(ex)) {
-                        r.addExclude(ex);
-                    }
+                    pom.addResourceExclude(existingRes, ex);
                 }
             } else {
                 // 如果不存在，则添加一个新的资源
@@ -122,7 +183,7 @@ public class DependencyMgmt {
                 if (excludes != null) {
                     r.setExcludes(new ArrayList<>(excludes));
                 }
-                model.getBuild().addResource(r);
+                pom.addResource(r);
             }
         }
     }
@@ -135,38 +196,79 @@ public class DependencyMgmt {
      * @param projectDir   项目根目录
      * @param parentDir    父项目目录（如果当前项目是模块）
      * @param dependencies 要添加的依赖列表
+     * @return 是否写入了POM文件，没有任何修改时不写文件
      * @throws Exception 当处理POM文件时发生错误
      */
-    public void addDependenciesToAppropriatePom(File projectDir, File parentDir, List<DependencyInfo> dependencies,
+    public boolean addDependenciesToAppropriatePom(File projectDir, File parentDir, List<DependencyInfo> dependencies,
                                                 List<PluginConfig> plugins, List<ResourceConfig> resourceConfigs)
             throws IOException, XmlPullParserException {
+        return addDependenciesToAppropriatePom(projectDir, parentDir, dependencies, plugins, resourceConfigs, false);
+    }
+
+    private boolean addDependenciesToAppropriatePom(File projectDir, File parentDir, List<DependencyInfo> dependencies,
+                                                    List<PluginConfig> plugins, List<ResourceConfig> resourceConfigs,
+                                                    boolean deferWrite)
+            throws IOException, XmlPullParserException {
         File projectPomFile = new File(projectDir, POM_XML);
-        Model projectModel = pomReader.readModel(projectPomFile);
-        Model parentModel = null;
+        // 每个Model只建一次索引，后续的查询和新增都通过索引完成
+        PomModelIndex projectPom = readIndex(projectPomFile);
+        PomModelIndex parentPom = null;
         if (parentDir != null) {
             File parentPomFile = new File(parentDir, POM_XML);
-            parentModel = pomReader.readModel(parentPomFile);
+            parentPom = readIndex(parentPomFile);
         }
 
         for (DependencyInfo dependency : dependencies) {
             // 检查当前项目是否已包含此依赖
-            if (hasDependency(projectModel.getDependencies(), dependency.getGroupId(), dependency.getArtifactId())) {
+            if (projectPom.hasDependency(dependency.getGroupId(), dependency.getArtifactId())) {
                 continue; // 已存在，跳过
             }
 
-            if (parentDir == null) {
-                processDependencyWithoutParent(projectModel, dependency);
+            if (parentPom == null) {
+                processDependencyWithoutParent(projectPom, dependency);
             } else {
-                processDependencyWithParent(projectModel, parentModel, dependency);
+                processDependencyWithParent(projectPom, parentPom, dependency);
             }
         }
 
-        handlePlugins(projectModel, plugins);
+        handlePlugins(projectPom, plugins);
+
+        handleResources(projectPom, resourceConfigs);
 
-        handleResources(projectModel, resourceConfigs);
+        if (deferWrite && modelCache != null) {
+            if (projectPom.hasChanges()) {
+                modelCache.deferWrite(projectPomFile);
+            }
+            return projectPom.hasChanges();
+        }
+        // 没有任何修改时不写文件，避免触发IDE重新导入项目
+        return writeIfChanged(projectPom, projectPomFile);
+    }
+
+    /**
+     * 读取POM的索引视图，有共享缓存时优先使用缓存。
+     */
+    private PomModelIndex readIndex(File pomFile) throws IOException, XmlPullParserException {
+        if (modelCache != null) {
+            return modelCache.getIndex(pomFile, pomReader);
+        }
+        return new PomModelIndex(pomReader.readModel(pomFile));
+    }
 
-        // ADDED: 统一在循环外部写入文件，确保只写一次
-        pomReader.writeModel(projectModel, projectPomFile);
+    /**
+     * 只在索引记录到修改时写回POM文件。
+     *
+     * @return 是否写入了文件
+     */
+    private boolean writeIfChanged(PomModelIndex pom, File pomFile) throws IOException {
+        if (!pom.hasChanges()) {
+            return false;
+        }
+        pomReader.writeEdits(pom.getModel(), pom.getEdits(), pomFile);
+        if (modelCache != null) {
+            modelCache.invalidate(pomFile);
+        }
+        return true;
     }
 
     // UPDATED: 原来的方法现在变为私有，并且不再负责文件写入
@@ -182,149 +284,85 @@ public class DependencyMgmt {
     public void addDependencyToAppropriatePom(File projectDir, File parentDir, DependencyInfo dependencyInfo)
             throws IOException, XmlPullParserException {
         File projectPomFile = new File(projectDir, POM_XML);
-        Model projectModel = pomReader.readModel(projectPomFile);
+        PomModelIndex projectPom = readIndex(projectPomFile);
 
         // 检查当前项目是否已包含此依赖，如果已存在则直接返回
-        if (hasDependency(projectModel.getDependencies(), dependencyInfo.getGroupId(), dependencyInfo.getArtifactId())) {
+        if (projectPom.hasDependency(dependencyInfo.getGroupId(), dependencyInfo.getArtifactId())) {
             return;
         }
 
         if (parentDir == null) {
             // 没有父POM，直接处理当前项目的依赖
-            processDependencyWithoutParent(projectModel, projectPomFile, dependencyInfo);
+            processDependencyWithoutParent(projectPom, dependencyInfo);
         } else {
             // 有父POM，需要检查父POM
             File parentPomFile = new File(parentDir, POM_XML);
-            Model parentModel = pomReader.readModel(parentPomFile);
-            processDependencyWithParent(projectModel, projectPomFile, parentModel, dependencyInfo);
+            PomModelIndex parentPom = readIndex(parentPomFile);
+            if (!processDependencyWithParent(projectPom, parentPom, dependencyInfo)) {
+                // 父POM中已存在此依赖，不做任何处理
+                return;
+            }
         }
+        writeIfChanged(projectPom, projectPomFile);
     }
 
-    // UPDATED: 移除了文件写入参数
-
     /**
      * 处理没有父POM的情况。
      */
-    private void processDependencyWithoutParent(Model projectModel, DependencyInfo dependencyInfo) {
-        boolean inDepMgmt = hasDependency(
-                Optional.ofNullable(projectModel.getDependencyManagement())
-                        .map(DependencyManagement::getDependencies)
-                        .orElse(null),
-                dependencyInfo.getGroupId(), dependencyInfo.getArtifactId());
-
-        Dependency depToAdd = createDependency(dependencyInfo);
-
-        if (!inDepMgmt) {
-            addVersionToProperties(projectModel, depToAdd);
-        } else {
-            depToAdd.setVersion(null);
-        }
-
-        projectModel.addDependency(depToAdd);
-    }
-
-    // UPDATED: 移除了文件写入参数
-    private void processDependencyWithParent(Model projectModel, Model parentModel, DependencyInfo dependencyInfo) {
-        boolean inParentDepMgmt = hasDependency(
-                Optional.ofNullable(parentModel.getDependencyManagement())
-                        .map(DependencyManagement::getDependencies)
-                        .orElse(null),
-                dependencyInfo.getGroupId(), dependencyInfo.getArtifactId());
-
-        boolean inParentDeps = hasDependency(parentModel.getDependencies(), dependencyInfo.getGroupId(),
-                dependencyInfo.getArtifactId());
-
-        if (inParentDeps) {
-            return;
-        }
-
-        Dependency depToAdd = createDependency(dependencyInfo);
-
-        if (inParentDepMgmt) {
-            depToAdd.setVersion(null);
-        } else {
-            addVersionToProperties(projectModel, depToAdd);
-        }
-
-        projectModel.addDependency(depToAdd);
-    }
-
-    // UPDATED: 移除了文件写入参数
-    private void processDependencyWithoutParent(Model projectModel, File projectPomFile, DependencyInfo dependencyInfo)
-            throws IOException {
-        boolean inDepMgmt = hasDependency(
-                Optional.ofNullable(projectModel.getDependencyManagement())
-                        .map(DependencyManagement::getDependencies)
-                        .orElse(null),
-                dependencyInfo.getGroupId(), dependencyInfo.getArtifactId());
+    private void processDependencyWithoutParent(PomModelIndex projectPom, DependencyInfo dependencyInfo) {
+        boolean inDepMgmt = projectPom.hasManagedDependency(dependencyInfo.getGroupId(), dependencyInfo.getArtifactId());
 
         Dependency depToAdd = createDependency(dependencyInfo);
 
         if (!inDepMgmt) {
             // 如果dependencyManagement中没有，并且依赖有版本，则将版本添加到properties中
-            addVersionToProperties(projectModel, depToAdd);
+            addVersionToProperties(projectPom, depToAdd);
         } else {
             // 如果在dependencyManagement中，则移除版本信息
             depToAdd.setVersion(null);
         }
 
-        projectModel.addDependency(depToAdd);
-        pomReader.writeModel(projectModel, projectPomFile);
+        projectPom.addDependency(depToAdd);
     }
 
-    // UPDATED: 移除了文件写入参数
-    private void processDependencyWithParent(Model projectModel, File projectPomFile, Model parentModel,
-                                             DependencyInfo dependencyInfo) throws IOException {
-        boolean inParentDepMgmt = hasDependency(
-                Optional.ofNullable(parentModel.getDependencyManagement())
-                        .map(DependencyManagement::getDependencies)
-                        .orElse(null),
-                dependencyInfo.getGroupId(), dependencyInfo.getArtifactId());
-
+    /**
+     * 处理有父POM的情况。
+     *
+     * @return 是否向当前项目添加了依赖，父POM的dependencies中已存在时返回false
+     */
+    private boolean processDependencyWithParent(PomModelIndex projectPom, PomModelIndex parentPom,
+                                                DependencyInfo dependencyInfo) {
         // 检查父POM的dependencies中是否已存在
-        boolean inParentDeps = hasDependency(parentModel.getDependencies(), dependencyInfo.getGroupId(),
-                dependencyInfo.getArtifactId());
-
-        if (inParentDeps) {
-            // 父POM中已存在此依赖，不做任何处理
-            return;
+        if (parentPom.hasDependency(dependencyInfo.getGroupId(), dependencyInfo.getArtifactId())) {
+            return false;
         }
 
         Dependency depToAdd = createDependency(dependencyInfo);
 
-        if (inParentDepMgmt) {
+        if (parentPom.hasManagedDependency(dependencyInfo.getGroupId(), dependencyInfo.getArtifactId())) {
             // 父POM的dependencyManagement中存在，添加到当前项目但不带版本
             depToAdd.setVersion(null);
         } else {
             // 父POM和当前项目中都不存在，将版本添加到properties中
-            addVersionToProperties(projectModel, depToAdd);
+            addVersionToProperties(projectPom, depToAdd);
         }
 
-        projectModel.addDependency(depToAdd);
-        pomReader.writeModel(projectModel, projectPomFile);
+        return projectPom.addDependency(depToAdd);
     }
 
     /**
      * 将版本信息添加到properties，并更新依赖的版本为属性引用。
      *
-     * @param model      要更新的模型
+     * @param pom        要更新的模型
      * @param dependency 要处理的依赖
      */
-    private void addVersionToProperties(Model model, Dependency dependency) {
+    private void addVersionToProperties(PomModelIndex pom, Dependency dependency) {
         if (dependency.getVersion() == null) {
             return;
         }
 
         String propertyName = generatePropertyName(dependency.getGroupId(), dependency.getArtifactId());
-        Properties properties = Optional.ofNullable(model.getProperties())
-                .orElseGet(() -> {
-                    model.setProperties(new Properties());
-                    return model.getProperties();
-                });
-
-        if (!properties.containsKey(propertyName)) {
-            properties.setProperty(propertyName, dependency.getVersion());
-        }
+        pom.addPropertyIfAbsent(propertyName, dependency.getVersion());
 
         // 更新依赖版本为属性引用
         dependency.setVersion("${" + propertyName + "}");
@@ -343,66 +381,47 @@ public class DependencyMgmt {
      */
     public void updateBuildPlugins(Model model, List<PluginConfig> pluginConfigs)
             throws IOException, XmlPullParserException {
+        PomModelIndex pom = new PomModelIndex(model);
 
-        // 1. Check for the <build> section and create if it doesn't exist.
-        Build build = Optional.ofNullable(model.getBuild()).orElseGet(Build::new);
-        model.setBuild(build);
-
-        List<Plugin> existingPlugins = build.getPlugins();
-
-        // 2. Iterate through the list of plugins to add/update
         for (PluginConfig pluginToAdd : pluginConfigs) {
 
             // Find an existing plugin with the same groupId and artifactId
-            Optional<Plugin> existingPlugin = existingPlugins.stream()
-                    .filter(p -> p.getArtifactId().equals(pluginToAdd.getArtifactId()))
-                    .findFirst();
-
-            if (existingPlugin.isPresent()) {
-                existingPlugin.get().setVersion(pluginToAdd.getVersion());
-                Xpp3Dom config = new Xpp3Dom("configuration");
-                Xpp3Dom source = new Xpp3Dom("source");
-                source.setValue("${java.version}");
-                Xpp3Dom target = new Xpp3Dom("target");
-                target.setValue("${java.version}");
-                config.addChild(source);
-                config.addChild(target);
-                existingPlugin.get().setConfiguration(config);
-
-                // log.info("Plugin " + pluginToAdd.getArtifactId() + " already exists. Updating
-                // configuration if needed.");
+            Plugin existingPlugin = pom.getPlugin(pluginToAdd.getGroupId(), pluginToAdd.getArtifactId());
+
+            if (existingPlugin != null) {
+                existingPlugin.setVersion(pluginToAdd.getVersion());
+                existingPlugin.setConfiguration(createCompilerConfiguration());
             } else {
                 Plugin compiler = new Plugin();
                 compiler.setGroupId(pluginToAdd.getGroupId());
                 compiler.setArtifactId(pluginToAdd.getArtifactId());
-                pluginToAdd.setVersion(pluginToAdd.getVersion());
-                Xpp3Dom config = new Xpp3Dom("configuration");
-                Xpp3Dom source = new Xpp3Dom("source");
-                source.setValue("${java.version}");
-                Xpp3Dom target = new Xpp3Dom("target");
-                target.setValue("${java.version}");
-                config.addChild(source);
-                config.addChild(target);
-                compiler.setConfiguration(config);
-
-                // log.info("Adding new plugin: " + pluginToAdd.getArtifactId());
-                build.addPlugin(compiler);
-
-
+                compiler.setVersion(pluginToAdd.getVersion());
+                compiler.setConfiguration(createCompilerConfiguration());
+                pom.addPlugin(compiler);
             }
         }
     }
 
+    private Xpp3Dom createCompilerConfiguration() {
+        Xpp3Dom config = new Xpp3Dom("configuration");
+        Xpp3Dom source = new Xpp3Dom("source");
+        source.setValue("${java.version}");
+        Xpp3Dom target = new Xpp3Dom("target");
+        target.setValue("${java.version}");
+        config.addChild(source);
+        config.addChild(target);
+        return config;
+    }
+
     public void handlePlugins(Model model, List<PluginConfig> pluginConfigs) {
-        System.out.println(pluginConfigs.size());
+        handlePlugins(new PomModelIndex(model), pluginConfigs);
+    }
 
+    private void handlePlugins(PomModelIndex pom, List<PluginConfig> pluginConfigs) {
         if (pluginConfigs == null) return;
 
-        Map<String, Plugin> pluginMap = model.getBuild().getPluginsAsMap();
         for (PluginConfig pluginCfg : pluginConfigs) {
-            String key = pluginCfg.getGroupId() + ":" + pluginCfg.getArtifactId();
-
-            Plugin existing = pluginMap.get(key);
+            Plugin existing = pom.getPlugin(pluginCfg.getGroupId(), pluginCfg.getArtifactId());
             if (existing == null) {
                 Plugin newPlugin = new Plugin();
                 newPlugin.setGroupId(pluginCfg.getGroupId());
@@ -413,17 +432,66 @@ public class DependencyMgmt {
                 if (pluginCfg.getConfiguration() != null) {
                     newPlugin.setConfiguration(toXpp3Dom(pluginCfg.getConfiguration()));
                 }
-                model.getBuild().addPlugin(newPlugin);
+                if (pluginCfg.getExecutions() != null) {
+                    pluginCfg.getExecutions().forEach(e -> newPlugin.addExecution(toPluginExecution(e)));
+                }
+                pom.addPlugin(newPlugin);
             } else {
                 if (pluginCfg.getConfiguration() != null) {
-                    Xpp3Dom existingCfg = (Xpp3Dom) existing.getConfiguration();
+                    // 在副本上合并，内容没有变化时不产生修改
+                    Xpp3Dom existingCfg = existing.getConfiguration() == null
+                            ? null : new Xpp3Dom((Xpp3Dom) existing.getConfiguration());
                     Xpp3Dom newCfg = toXpp3Dom(pluginCfg.getConfiguration());
-                    existing.setConfiguration(mergeXpp3Dom(existingCfg, newCfg));
+                    pom.updatePluginConfiguration(existing, mergeXpp3Dom(existingCfg, newCfg));
+                }
+                // 只补充缺失的execution（按id），已有的execution保持用户的配置
+                boolean executionsAdded = false;
+                if (pluginCfg.getExecutions() != null) {
+                    for (Map<String, Object> executionCfg : pluginCfg.getExecutions()) {
+                        executionsAdded |= pom.addPluginExecution(existing, toPluginExecution(executionCfg));
+                    }
+                }
+                // 新增的execution按配置中的插件版本编写（如process-aot需要spring-boot-maven-plugin 3.x），已有插件版本更低时一并升级
+                if (executionsAdded && isOlderVersion(existing.getVersion(), pluginCfg.getVersion())) {
+                    pom.updatePluginVersion(existing, pluginCfg.getVersion());
                 }
             }
         }
     }
 
+    /**
+     * 两个版本号都是明确的版本（不是属性引用）且 current 低于 required
+     */
+    private static boolean isOlderVersion(String current, String required) {
+        if (current == null || required == null || current.startsWith("${") || required.startsWith("${")) {
+            return false;
+        }
+        return new ComparableVersion(current).compareTo(new ComparableVersion(required)) < 0;
+    }
+
+    /**
+     * 把配置中的execution（id、phase、goals、configuration）转换为PluginExecution，未设置id时为default
+     */
+    private PluginExecution toPluginExecution(Map<String, Object> executionCfg) {
+        PluginExecution execution = new PluginExecution();
+        if (executionCfg.get("id") != null) {
+            execution.setId(String.valueOf(executionCfg.get("id")));
+        }
+        if (executionCfg.get("phase") != null) {
+            execution.setPhase(String.valueOf(executionCfg.get("phase")));
+        }
+        Object goals = executionCfg.get("goals");
+        if (goals instanceof List) {
+            ((List<?>) goals).forEach(goal -> execution.addGoal(String.valueOf(goal)));
+        } else if (goals != null) {
+            execution.addGoal(String.valueOf(goals));
+        }
+        if (executionCfg.get("configuration") != null) {
+            execution.setConfiguration(toXpp3Dom(executionCfg.get("configuration")));
+        }
+        return execution;
+    }
+
     private Xpp3Dom toXpp3Dom(Object obj) {
         if (!(obj instanceof Map)) return null;
         Map<String, Object> map = (Map<String, Object>) obj;
@@ -484,22 +552,6 @@ public class DependencyMgmt {
         return artifactId.replace('.', '-') + ".version";
     }
 
-    /**
-     * 检查依赖列表中是否包含指定依赖。
-     *
-     * @param dependencies 依赖列表
-     * @param groupId      依赖的groupId
-     * @param artifactId   依赖的artifactId
-     * @return 如果存在则返回true
-     */
-    private boolean hasDependency(List<Dependency> dependencies, String groupId, String artifactId) {
-        if (dependencies == null) {
-            return false;
-        }
-        return dependencies.stream()
-                .anyMatch(dep -> groupId.equals(dep.getGroupId()) && artifactId.equals(dep.getArtifactId()));
-    }
-
     private Dependency createDependency(DependencyInfo dependencyInfo) {
         Dependency mavenDependency = new Dependency();
         mavenDependency.setGroupId(dependencyInfo.getGroupId());
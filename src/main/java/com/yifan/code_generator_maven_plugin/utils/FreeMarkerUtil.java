@@ -17,24 +17,45 @@ import org.apache.maven.project.MavenProject;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 
 public class FreeMarkerUtil {
 
-    private Configuration cfg;
     private static final String DEFAULT_ENCODING = "UTF-8";
 
+    /**
+     * 每个模板目录一个Configuration，模板解析结果缓存在其中，不随每次生成重新设置加载器而失效
+     */
+    private final Map<String, Configuration> configurations = new HashMap<>();
+
+    /**
+     * 输出文件（绝对路径）最近一次渲染的内容，覆盖前用来判断文件是否被手工修改过
+     */
+    private final Map<String, String> renderedContents = new HashMap<>();
+
+    /**
+     * 是否记录渲染内容并保护被手工修改过的输出，watch模式下开启
+     */
+    private boolean protectEditedOutputs;
+
     private Log log;
     private MavenProject project;
 
     public FreeMarkerUtil() throws IOException {
-        cfg = new Configuration(Configuration.VERSION_2_3_32);
-        cfg.setDefaultEncoding(DEFAULT_ENCODING);
-        cfg.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
-        cfg.setLogTemplateExceptions(false);
-        cfg.setWrapUncheckedExceptions(true);
+    }
+
+    /**
+     * 开启后已存在的输出文件也会渲染一次：内容一致时记录下来，之后覆盖时只覆盖内容仍与最近一次渲染一致的文件，
+     * 被手工修改过（或者开启前就已经与模板不一致）的文件跳过并打印警告。
+     */
+    public void setProtectEditedOutputs(boolean protectEditedOutputs) {
+        this.protectEditedOutputs = protectEditedOutputs;
     }
 
     /**
@@ -42,8 +63,28 @@ public class FreeMarkerUtil {
      *
      * @param config       POJO 形式的完整配置
      * @param mavenProject Maven项目对象
+     * @return 全部输出文件（包括本次生成的以及已经存在而跳过的）
+     * @throws IOException 有模板渲染失败时抛出
+     */
+    public List<File> processTemplates(GeneratorConfig config, MavenProject mavenProject, Log log) throws IOException {
+        return processTemplates(config, mavenProject, log, tc -> true, t -> true, false);
+    }
+
+    /**
+     * 只处理选中的表和模板，用于watch模式下的局部重新生成
+     *
+     * @param config         POJO 形式的完整配置
+     * @param mavenProject   Maven项目对象
+     * @param tableFilter    需要处理的表
+     * @param templateFilter 需要处理的模板
+     * @param overwrite      是否覆盖已存在的文件，generateOnce的模板始终不覆盖；
+     *                       只覆盖内容仍与本实例最近一次渲染一致的文件，见 {@link #setProtectEditedOutputs}
+     * @return 全部输出文件（包括本次生成的以及已经存在而跳过的）
+     * @throws IOException 有模板渲染失败时抛出
      */
-    public void processTemplates(GeneratorConfig config, MavenProject mavenProject, Log log) {
+    public List<File> processTemplates(GeneratorConfig config, MavenProject mavenProject, Log log,
+                                       Predicate<TableConfig> tableFilter, Predicate<TemplateConfig> templateFilter,
+                                       boolean overwrite) throws IOException {
         this.log = log;
         this.project = mavenProject;
         ModelSetting modelSetting = config.getModelSettings();
@@ -52,12 +93,21 @@ public class FreeMarkerUtil {
         String templateAppendMode = modelSetting.getTemplateAppendMode();
 
         String basePackage = baseConfig.getBasePackagePrefix();
+        List<File> outputs = new ArrayList<>();
+        int failures = 0;
         String templateDir; // 不能直接取modelSetting中的templateDir，用户如果配置了modelSetting，那么这个值会被写成用户配置的，从而影响到插件内部模板
         for (TableConfig tc : modelSetting.getTables()) {
+            if (!tableFilter.test(tc)) {
+                continue;
+            }
             for (TemplateConfig templateConfig : modelSetting.getTemplates()) {
+                if (!templateFilter.test(templateConfig) || !(tc.hasFeature(templateConfig.getFeature())
+                        || config.hasGlobalFeature(templateConfig.getFeature()))) {
+                    continue;
+                }
 
                 String packageSuffix = templateConfig.getPackageSuffix();
-                String projectPackage = basePackage + "." + mavenProject.getArtifactId().toLowerCase().replace("-", "_");
+                String projectPackage = CommonFunc.buildProjectPackage(basePackage, mavenProject.getArtifactId());
                 if (packageSuffix != null && !packageSuffix.isEmpty()) {
                     // 填充templateConfig中packageInfo信息
                     templateConfig.setPackageInfo(projectPackage + "." + packageSuffix);
@@ -69,10 +119,19 @@ public class FreeMarkerUtil {
                 printInfoLog("Template:" + templateConfig.getTemplateFile() + " dir:" + templateDir);
 
                 // 调用内部生成方法
-                this.generate(tc,
-                        templateConfig, templateDir, templateAppendMode, projectPackage, config, mavenProject);
+                File outputFile = this.generate(tc,
+                        templateConfig, templateDir, templateAppendMode, projectPackage, config, mavenProject, overwrite);
+                if (outputFile == null) {
+                    failures++;
+                } else {
+                    outputs.add(outputFile);
+                }
             }
         }
+        if (failures > 0) {
+            throw new IOException("Failed to render " + failures + " template(s), see the log above for details.");
+        }
+        return outputs;
     }
 
     /**
@@ -84,32 +143,23 @@ public class FreeMarkerUtil {
      * @param projectPackage     项目包名
      * @param fullConfig         完整的GeneratorConfig对象
      * @param mavenProject       Maven项目对象
+     * @param overwrite          是否覆盖已存在的文件
+     * @return 输出文件，渲染失败时返回 null
      */
-    private void generate(
+    private File generate(
             TableConfig tableConfig,
             TemplateConfig templateConfig,
             String templateDir,
             String templateAppendMode,
             String projectPackage,
             GeneratorConfig fullConfig,
-            MavenProject mavenProject) {
+            MavenProject mavenProject,
+            boolean overwrite) {
         File projectBaseDir = mavenProject.getBasedir();
 
         try {
-            // 1. 设置模板加载器
-            TemplateLoader templateLoader;
-            boolean isPlugin = templateConfig.isPlugin();
-            printInfoLog("isPlugin: " + isPlugin);
-            printInfoLog("Base Dir: " + projectBaseDir);
-            printInfoLog("absolute dir: " + projectBaseDir.getAbsolutePath());
-            printInfoLog("templateDir: " + templateDir);
-            if (isPlugin) {
-                printInfoLog("using class load to read template: " + templateDir);
-                templateLoader = new ClassTemplateLoader(this.getClass(), "/" + templateDir);
-            } else {
-                templateLoader = new FileTemplateLoader(new File(projectBaseDir, templateDir));
-            }
-            cfg.setTemplateLoader(templateLoader);
+            // 1. 获取模板目录对应的Configuration
+            Configuration cfg = getConfiguration(templateConfig.isPlugin(), templateDir, projectBaseDir);
 
             // 2. 构建数据模型，FreeMarker可以直接处理POJO
             Map<String, Object> dataModel = buildDataModel(tableConfig, templateConfig, projectPackage, fullConfig);
@@ -132,27 +182,107 @@ public class FreeMarkerUtil {
             }
 
             File outputFile = new File(targetDir, generatedFileName);
-            // 6. 处理 overwrite 和 generateOnce 逻辑,认为overwrite已经不需要处理了 20250903
-            if (outputFile.exists()) { // 文件已经存在便不生成
-                printInfoLog("Skipped file File exist : " + outputFile.getAbsolutePath());
-                return;
+            // 文件名中可以带子目录，如 load-test/${entityName}LoadTest
+            if (!outputFile.getParentFile().exists()) {
+                outputFile.getParentFile().mkdirs();
             }
+            // 6. 处理 overwrite 和 generateOnce 逻辑,认为overwrite已经不需要处理了 20250903，仅watch模式下覆盖
             if (templateConfig.isGenerateOnce() && outputFile.exists()) {
                 printInfoLog("Skipped file (generateOnce mode): " + outputFile.getAbsolutePath());
-                return;
+                return outputFile;
+            }
+            boolean exists = outputFile.exists();
+            if (exists && !overwrite && !protectEditedOutputs) { // 文件已经存在便不生成
+                printInfoLog("Skipped file File exist : " + outputFile.getAbsolutePath());
+                return outputFile;
             }
 
-            // 7. 渲染模板并写入文件
+            // 7. 渲染模板，只在需要时写入文件
+            StringWriter contentWriter = new StringWriter();
+            template.process(dataModel, contentWriter);
+            String content = contentWriter.toString();
+            String outputPath = outputFile.getAbsolutePath();
+            if (exists) {
+                String current = new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8);
+                if (current.equals(content)) {
+                    renderedContents.put(outputPath, content);
+                    printInfoLog("Skipped file unchanged : " + outputPath);
+                    return outputFile;
+                }
+                if (!overwrite) {
+                    printInfoLog("Skipped file File exist : " + outputPath);
+                    return outputFile;
+                }
+                if (!current.equals(renderedContents.get(outputPath))) {
+                    log.warn("Skipped " + outputPath + ": it was modified after it was last generated, "
+                            + "delete it to regenerate.");
+                    return outputFile;
+                }
+            }
             try (Writer fileWriter = new OutputStreamWriter(new FileOutputStream(outputFile), StandardCharsets.UTF_8)) {
-                template.process(dataModel, fileWriter);
-                System.out.println("Generated file: " + outputFile.getAbsolutePath());
+                fileWriter.write(content);
+                System.out.println("Generated file: " + outputPath);
+            }
+            renderedContents.put(outputPath, content);
+            if (Constants.TemplateConstants.FILE_TYPE_SCRIPT.equalsIgnoreCase(templateConfig.getFileType())
+                    && !outputFile.setExecutable(true)) {
+                printInfoLog("Could not mark script as executable: " + outputFile.getAbsolutePath());
             }
+            return outputFile;
 
         } catch (IOException | TemplateException e) {
             e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * 获取模板目录对应的Configuration，首次使用时创建。
+     *
+     * @param isPlugin       是否是插件内置模板
+     * @param templateDir    模板目录
+     * @param projectBaseDir 项目根目录
+     */
+    private Configuration getConfiguration(boolean isPlugin, String templateDir, File projectBaseDir) throws IOException {
+        String key = configurationKey(isPlugin, templateDir);
+        Configuration cfg = configurations.get(key);
+        if (cfg != null) {
+            return cfg;
+        }
+        TemplateLoader templateLoader;
+        if (isPlugin) {
+            printInfoLog("using class load to read template: " + templateDir);
+            templateLoader = new ClassTemplateLoader(this.getClass(), "/" + templateDir);
+        } else {
+            printInfoLog("using file loader to read template: " + new File(projectBaseDir, templateDir).getAbsolutePath());
+            templateLoader = new FileTemplateLoader(new File(projectBaseDir, templateDir));
+        }
+        cfg = new Configuration(Configuration.VERSION_2_3_32);
+        cfg.setDefaultEncoding(DEFAULT_ENCODING);
+        cfg.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+        cfg.setLogTemplateExceptions(false);
+        cfg.setWrapUncheckedExceptions(true);
+        cfg.setTemplateLoader(templateLoader);
+        configurations.put(key, cfg);
+        return cfg;
+    }
+
+    /**
+     * 清除用户模板目录的模板缓存，模板文件修改后调用。
+     *
+     * @param templateDir 用户模板目录
+     */
+    public void clearTemplateCache(String templateDir) {
+        Configuration cfg = configurations.get(configurationKey(false, templateDir));
+        if (cfg != null) {
+            cfg.clearTemplateCache();
         }
     }
 
+    private static String configurationKey(boolean isPlugin, String templateDir) {
+        return (isPlugin ? "classpath:" : "file:") + templateDir;
+    }
+
     private String computeOutputPath(TemplateConfig templateConfig) {
         // 5. 确定输出路径
         String outputSourceDir;
@@ -161,6 +291,11 @@ public class FreeMarkerUtil {
             if (templateConfig.getPackageInfo() != null && !templateConfig.getPackageInfo().isEmpty()) {
                 outputSourceDir += File.separator + templateConfig.getPackageInfo().replace('.', File.separatorChar);
             }
+        } else if (Constants.TemplateConstants.FILE_TYPE_TEST.equalsIgnoreCase(templateConfig.getFileType())) {
+            outputSourceDir = Constants.FileConstant.TEST_JAVA_PATH;
+            if (templateConfig.getPackageInfo() != null && !templateConfig.getPackageInfo().isEmpty()) {
+                outputSourceDir += File.separator + templateConfig.getPackageInfo().replace('.', File.separatorChar);
+            }
         } else if (Constants.TemplateConstants.FILE_TYPE_RESOURCE.equalsIgnoreCase(templateConfig.getFileType())) {
             outputSourceDir = Constants.FileConstant.MAPPER_PATH;
         } else {
@@ -192,6 +327,13 @@ public class FreeMarkerUtil {
         dataModel.put("tableConfig", tc);
         dataModel.put("useBaseEntity", tc.isUseBaseEntity());
         dataModel.put("moduleName", CommonFunc.convertToPascalCase(project.getArtifactId()));
+        dataModel.put("artifactId", project.getArtifactId());
+        dataModel.put("execution", fullConfig.getExecution() == null ? new ExecutionConfig() : fullConfig.getExecution());
+        dataModel.put("metrics", fullConfig.getMetrics() == null ? new MetricsConfig() : fullConfig.getMetrics());
+        dataModel.put("startup", fullConfig.getStartup() == null ? new StartupConfig() : fullConfig.getStartup());
+        dataModel.put("benchmark", fullConfig.getBenchmark() == null ? new BenchmarkConfig() : fullConfig.getBenchmark());
+        // 模板中需要建表语句时（如基准测试的内存数据库），与SchemaSynchronizer使用同一份类型映射
+        dataModel.put("typeMapping", fullConfig.getBaseConfigs().getTypeMapping());
 
         // 2. 添加常用的公共参数，方便模板直接访问
         dataModel.put("packageName", templateConfig.getPackageInfo());
@@ -233,6 +375,7 @@ public class FreeMarkerUtil {
         dataModel.put("handlerPackage", projectPackage + "." + Constants.PackageSuffix.HANDLER);
         dataModel.put("interceptorPackage", projectPackage + "." + Constants.PackageSuffix.INTERCEPTOR);
         dataModel.put("exceptionPackage", projectPackage + "." + Constants.PackageSuffix.EXCEPTION);
+        dataModel.put("converterPackage", projectPackage + "." + Constants.PackageSuffix.CONVERTER);
 
     }
 
@@ -0,0 +1,166 @@
+package com.yifan.code_generator_maven_plugin.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.yifan.code_generator_maven_plugin.constant.Constants;
+import com.yifan.code_generator_maven_plugin.model.GenerationFingerprint;
+import com.yifan.code_generator_maven_plugin.model.GeneratorConfig;
+import com.yifan.code_generator_maven_plugin.model.TemplateConfig;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @Description: 计算generate-code的输入指纹并读写指纹文件。
+ * 输入包括用户配置文件、插件版本（以及插件jar的大小和修改时间，便于SNAPSHOT版本重新安装后失效）、
+ * 自定义模板目录下的全部文件内容和影响生成结果的参数。
+ */
+public class InputFingerprinter {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final String FINGERPRINT_FILE = "code_generator/generate-code.fingerprint.json";
+
+    private final MavenProject project;
+    private final Log log;
+
+    public InputFingerprinter(MavenProject project, Log log) {
+        this.project = project;
+        this.log = log;
+    }
+
+    /**
+     * 参与指纹计算的本地输入文件及目录，用于增量构建上下文的变更检测。
+     */
+    public List<File> inputFiles(GeneratorConfig config) {
+        List<File> files = new ArrayList<>();
+        files.add(userConfigFile());
+        files.addAll(customTemplateDirs(config));
+        return files;
+    }
+
+    /**
+     * 计算本地输入的哈希。
+     *
+     * @param config        合并后的配置
+     * @param pluginVersion 插件版本
+     * @param pluginFile    插件jar，可能为空
+     * @param parameters    其他影响生成结果的参数
+     */
+    public String computeInputsHash(GeneratorConfig config, String pluginVersion, File pluginFile,
+                                    String... parameters) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, "plugin|" + pluginVersion);
+            if (pluginFile != null && pluginFile.isFile()) {
+                update(digest, "|" + pluginFile.length() + "|" + pluginFile.lastModified());
+            }
+            for (String parameter : parameters) {
+                update(digest, "\nparam|" + parameter);
+            }
+            File userConfig = userConfigFile();
+            update(digest, "\nconfig|");
+            if (userConfig.isFile()) {
+                digest.update(Files.readAllBytes(userConfig.toPath()));
+            }
+            for (File templateDir : customTemplateDirs(config)) {
+                update(digest, "\ntemplates|" + templateDir.getPath());
+                for (Path file : listFiles(templateDir)) {
+                    update(digest, "\n" + templateDir.toPath().relativize(file) + "|");
+                    digest.update(Files.readAllBytes(file));
+                }
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 读取上一次的指纹，不存在或无法解析时返回 null。
+     */
+    public GenerationFingerprint read() {
+        File file = fingerprintFile();
+        if (!file.isFile()) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            return GSON.fromJson(reader, GenerationFingerprint.class);
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable fingerprint file " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void write(GenerationFingerprint fingerprint) throws IOException {
+        File file = fingerprintFile();
+        file.getParentFile().mkdirs();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            GSON.toJson(fingerprint, writer);
+        }
+    }
+
+    /**
+     * 删除指纹文件，下一次执行时重新生成。
+     */
+    public void invalidate() {
+        File file = fingerprintFile();
+        if (file.isFile() && !file.delete()) {
+            log.warn("Failed to delete fingerprint file " + file);
+        }
+    }
+
+    public boolean outputsExist(GenerationFingerprint fingerprint) {
+        return fingerprint.getOutputs().stream().allMatch(path -> new File(path).exists());
+    }
+
+    private File fingerprintFile() {
+        return new File(project.getBuild().getDirectory(), FINGERPRINT_FILE);
+    }
+
+    private File userConfigFile() {
+        return new File(new File(project.getBasedir(), Constants.FileConstant.RESOURCE_PATH),
+                Constants.FileConstant.CONFIG_PATH);
+    }
+
+    /**
+     * 用户自定义（非插件内置）模板所在的目录，去重后按路径排序
+     */
+    private List<File> customTemplateDirs(GeneratorConfig config) {
+        if (config.getModelSettings() == null || config.getModelSettings().getTemplates() == null) {
+            return Collections.emptyList();
+        }
+        return config.getModelSettings().getTemplates().stream()
+                .filter(t -> !t.isPlugin() && t.getTemplateDir() != null)
+                .map(TemplateConfig::getTemplateDir)
+                .distinct()
+                .sorted()
+                .map(dir -> new File(project.getBasedir(), dir))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Path> listFiles(File dir) throws IOException {
+        if (!dir.isDirectory()) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> stream = Files.walk(dir.toPath())) {
+            return stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+package com.yifan.code_generator_maven_plugin.utils;
+
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * @Description: 对POM文本的一次最小修改。
+ * 由 {@link PomModelIndex} 在修改Model时记录，再由 {@link PomTextEditor} 在原始XML的对应位置上应用，
+ * 从而保留文件中的注释和格式。片段在写入时才渲染，保证反映Model的最终状态。
+ */
+public final class PomEdit {
+
+    public enum Type {
+        /**
+         * 追加为目标元素的最后一个子元素，路径上缺失的父元素会被一并创建
+         */
+        APPEND,
+        /**
+         * 整体替换目标元素，目标不存在时追加到其父元素中
+         */
+        REPLACE
+    }
+
+    /**
+     * 路径上的一步：元素名，以及可选的“子元素文本等于某值”的匹配条件。
+     */
+    public static final class Step {
+        private final String name;
+        private final String matchChild;
+        private final String matchValue;
+
+        private Step(String name, String matchChild, String matchValue) {
+            this.name = name;
+            this.matchChild = matchChild;
+            this.matchValue = matchValue;
+        }
+
+        public static Step of(String name) {
+            return new Step(name, null, null);
+        }
+
+        public static Step of(String name, String matchChild, String matchValue) {
+            return new Step(name, matchChild, matchValue);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getMatchChild() {
+            return matchChild;
+        }
+
+        public String getMatchValue() {
+            return matchValue;
+        }
+
+        public boolean hasMatch() {
+            return matchChild != null;
+        }
+
+        @Override
+        public String toString() {
+            return hasMatch() ? name + "[" + matchChild + "=" + matchValue + "]" : name;
+        }
+    }
+
+    private final Type type;
+    private final List<Step> path;
+    private final Supplier<Xpp3Dom> fragment;
+
+    private PomEdit(Type type, List<Step> path, Supplier<Xpp3Dom> fragment) {
+        this.type = type;
+        this.path = Collections.unmodifiableList(new ArrayList<>(path));
+        this.fragment = fragment;
+    }
+
+    /**
+     * @param parentPath 相对于 project 根元素的父元素路径
+     * @param fragment   待追加的元素
+     */
+    public static PomEdit append(List<Step> parentPath, Supplier<Xpp3Dom> fragment) {
+        return new PomEdit(Type.APPEND, parentPath, fragment);
+    }
+
+    /**
+     * @param elementPath 相对于 project 根元素的目标元素路径
+     * @param fragment    替换后的元素
+     */
+    public static PomEdit replace(List<Step> elementPath, Supplier<Xpp3Dom> fragment) {
+        return new PomEdit(Type.REPLACE, elementPath, fragment);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public List<Step> getPath() {
+        return path;
+    }
+
+    public Xpp3Dom renderFragment() {
+        return fragment.get();
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + path;
+    }
+}
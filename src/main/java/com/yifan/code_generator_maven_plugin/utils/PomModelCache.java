@@ -0,0 +1,122 @@
+package com.yifan.code_generator_maven_plugin.utils;
+
+import org.apache.maven.execution.MavenSession;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * @Description: 一次reactor构建内共享的POM解析缓存。
+ * 以文件规范路径为键，并用 lastModified + length 校验缓存是否仍然有效，
+ * 同一个父POM在多个模块中只解析一次。延迟写入的POM在 {@link #flush} 时统一写回，
+ * 在此之前其他模块读取到的是已包含修改的内存模型。缓存随MavenSession的执行请求一起回收，
+ * 构建中途失败没能写回的修改不会带到下一次构建。
+ */
+public final class PomModelCache {
+
+    /**
+     * 以MavenSession的执行请求为键（并行构建时每个模块拿到的是session的副本，但请求对象是同一个），
+     * 构建结束后随请求对象一起被回收
+     */
+    private static final Map<Object, PomModelCache> SESSION_CACHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final class Entry {
+        private final long lastModified;
+        private final long length;
+        private final PomModelIndex index;
+
+        private Entry(File pomFile, PomModelIndex index) {
+            this.lastModified = pomFile.lastModified();
+            this.length = pomFile.length();
+            this.index = index;
+        }
+
+        private boolean isUpToDate(File pomFile) {
+            return lastModified == pomFile.lastModified() && length == pomFile.length();
+        }
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, File> pendingWrites = new LinkedHashMap<>();
+    private final List<Runnable> afterFlushActions = new ArrayList<>();
+
+    /**
+     * 获取当前构建会话共享的缓存实例。
+     *
+     * @param session 当前构建会话，为空时返回一个独立的缓存
+     */
+    public static PomModelCache forSession(MavenSession session) {
+        if (session == null) {
+            return new PomModelCache();
+        }
+        Object key = session.getRequest() != null ? session.getRequest() : session;
+        return SESSION_CACHES.computeIfAbsent(key, k -> new PomModelCache());
+    }
+
+    /**
+     * 读取POM的索引视图，文件未变化或存在待写入的修改时直接返回缓存。
+     */
+    public synchronized PomModelIndex getIndex(File pomFile, DependencyMgmt.PomReader pomReader)
+            throws IOException, XmlPullParserException {
+        String key = pomFile.getCanonicalPath();
+        Entry entry = entries.get(key);
+        if (entry != null && (pendingWrites.containsKey(key) || entry.isUpToDate(pomFile))) {
+            return entry.index;
+        }
+        PomModelIndex index = new PomModelIndex(pomReader.readModel(pomFile));
+        entries.put(key, new Entry(pomFile, index));
+        return index;
+    }
+
+    /**
+     * 将POM标记为待写入，等到 {@link #flush} 时统一写回。
+     */
+    public synchronized void deferWrite(File pomFile) throws IOException {
+        pendingWrites.put(pomFile.getCanonicalPath(), pomFile);
+    }
+
+    /**
+     * POM已在外部写回，丢弃其缓存，下次读取时重新解析。
+     */
+    public synchronized void invalidate(File pomFile) throws IOException {
+        String key = pomFile.getCanonicalPath();
+        if (!pendingWrites.containsKey(key)) {
+            entries.remove(key);
+        }
+    }
+
+    public synchronized boolean hasPendingWrites() {
+        return !pendingWrites.isEmpty();
+    }
+
+    /**
+     * 登记在下一次 {@link #flush} 成功写回后执行的动作，例如记录延迟写入模块的输入指纹。
+     * 构建没有走到写回点时这些动作不会执行。
+     */
+    public synchronized void afterFlush(Runnable action) {
+        afterFlushActions.add(action);
+    }
+
+    /**
+     * 写回所有待写入的POM。
+     *
+     * @return 实际写入的文件
+     */
+    public synchronized List<File> flush(DependencyMgmt.PomReader pomReader) throws IOException {
+        List<File> written = new ArrayList<>();
+        for (Map.Entry<String, File> pending : pendingWrites.entrySet()) {
+            Entry entry = entries.remove(pending.getKey());
+            if (entry != null && entry.index.hasChanges()) {
+                pomReader.writeEdits(entry.index.getModel(), entry.index.getEdits(), pending.getValue());
+                written.add(pending.getValue());
+            }
+        }
+        pendingWrites.clear();
+        List<Runnable> actions = new ArrayList<>(afterFlushActions);
+        afterFlushActions.clear();
+        actions.forEach(Runnable::run);
+        return written;
+    }
+}
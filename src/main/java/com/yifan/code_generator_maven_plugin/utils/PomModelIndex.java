@@ -0,0 +1,331 @@
+package com.yifan.code_generator_maven_plugin.utils;
+
+import org.apache.maven.model.*;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+import java.util.*;
+
+/**
+ * @Description: POM模型的索引视图。
+ * 在构造时对 dependencies、dependencyManagement、build plugins 和 resources 各建立一次哈希索引
+ * （groupId:artifactId → 对象，resources按directory），之后所有的查询和新增都走索引，
+ * 避免对每个待添加的依赖都线性扫描一遍列表。新增操作会同时写入Model和索引，保证二者一致，
+ * 并记录对应的 {@link PomEdit}，写回时只需在原文件上应用这些最小修改，没有修改时无需写文件。
+ */
+public class PomModelIndex {
+
+    /**
+     * Maven 对未声明 groupId 的插件使用的默认 groupId
+     */
+    private static final String DEFAULT_PLUGIN_GROUP_ID = "org.apache.maven.plugins";
+
+    private final Model model;
+    private final Map<String, Dependency> dependencies;
+    private final Map<String, Dependency> managedDependencies;
+    private final Map<String, Plugin> plugins;
+    private final Map<String, Resource> resources;
+
+    private final List<PomEdit> edits = new ArrayList<>();
+    // 本次新增的插件和资源，其后续修改已包含在新增片段中，不需要单独记录
+    private final Set<Object> addedElements = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Plugin> replacedConfigurations = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public PomModelIndex(Model model) {
+        this.model = model;
+        this.dependencies = indexDependencies(model.getDependencies());
+        this.managedDependencies = indexDependencies(model.getDependencyManagement() == null
+                ? null : model.getDependencyManagement().getDependencies());
+
+        Build build = model.getBuild();
+        this.plugins = new HashMap<>();
+        this.resources = new HashMap<>();
+        if (build != null) {
+            for (Plugin plugin : build.getPlugins()) {
+                plugins.putIfAbsent(pluginKey(plugin.getGroupId(), plugin.getArtifactId()), plugin);
+            }
+            for (Resource resource : build.getResources()) {
+                resources.putIfAbsent(resource.getDirectory(), resource);
+            }
+        }
+    }
+
+    /**
+     * 依赖索引的键。
+     */
+    public static String dependencyKey(String groupId, String artifactId) {
+        return groupId + ":" + artifactId;
+    }
+
+    /**
+     * 插件索引的键，groupId为空时与Maven一致，使用默认的 org.apache.maven.plugins。
+     */
+    public static String pluginKey(String groupId, String artifactId) {
+        return (groupId == null || groupId.isEmpty() ? DEFAULT_PLUGIN_GROUP_ID : groupId) + ":" + artifactId;
+    }
+
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * 自建立索引以来对Model所做的修改，为空表示POM无需写回。
+     */
+    public List<PomEdit> getEdits() {
+        return Collections.unmodifiableList(edits);
+    }
+
+    public boolean hasChanges() {
+        return !edits.isEmpty();
+    }
+
+    public boolean hasDependency(String groupId, String artifactId) {
+        return dependencies.containsKey(dependencyKey(groupId, artifactId));
+    }
+
+    public boolean hasManagedDependency(String groupId, String artifactId) {
+        return managedDependencies.containsKey(dependencyKey(groupId, artifactId));
+    }
+
+    /**
+     * 向 dependencies 中添加依赖，已存在同 groupId:artifactId 的依赖时不做处理。
+     *
+     * @return 是否真正添加
+     */
+    public boolean addDependency(Dependency dependency) {
+        String key = dependencyKey(dependency.getGroupId(), dependency.getArtifactId());
+        if (dependencies.containsKey(key)) {
+            return false;
+        }
+        model.addDependency(dependency);
+        dependencies.put(key, dependency);
+        edits.add(PomEdit.append(path("dependencies"), () -> toDom(dependency)));
+        return true;
+    }
+
+    /**
+     * 新增一个属性，已存在时保留原值。
+     *
+     * @return 是否真正添加
+     */
+    public boolean addPropertyIfAbsent(String name, String value) {
+        Properties properties = model.getProperties();
+        if (properties == null) {
+            properties = new Properties();
+            model.setProperties(properties);
+        }
+        if (properties.containsKey(name)) {
+            return false;
+        }
+        properties.setProperty(name, value);
+        edits.add(PomEdit.append(path("properties"), () -> dom(name, value)));
+        return true;
+    }
+
+    public Plugin getPlugin(String groupId, String artifactId) {
+        return plugins.get(pluginKey(groupId, artifactId));
+    }
+
+    public void addPlugin(Plugin plugin) {
+        getOrCreateBuild().addPlugin(plugin);
+        plugins.put(pluginKey(plugin.getGroupId(), plugin.getArtifactId()), plugin);
+        addedElements.add(plugin);
+        edits.add(PomEdit.append(path("build", "plugins"), () -> toDom(plugin)));
+    }
+
+    /**
+     * 替换已有插件的 configuration，内容未变化时不做处理。
+     *
+     * @return 是否真正修改
+     */
+    public boolean updatePluginConfiguration(Plugin plugin, Xpp3Dom configuration) {
+        if (Objects.equals(plugin.getConfiguration(), configuration)) {
+            return false;
+        }
+        plugin.setConfiguration(configuration);
+        if (!addedElements.contains(plugin) && replacedConfigurations.add(plugin)) {
+            List<PomEdit.Step> configPath = Arrays.asList(PomEdit.Step.of("build"), PomEdit.Step.of("plugins"),
+                    PomEdit.Step.of("plugin", "artifactId", plugin.getArtifactId()),
+                    PomEdit.Step.of("configuration"));
+            edits.add(PomEdit.replace(configPath,
+                    () -> new Xpp3Dom((Xpp3Dom) plugin.getConfiguration(), "configuration")));
+        }
+        return true;
+    }
+
+    /**
+     * 修改已有插件的版本号，版本相同时不做处理。
+     *
+     * @return 是否真正修改
+     */
+    public boolean updatePluginVersion(Plugin plugin, String version) {
+        if (Objects.equals(plugin.getVersion(), version)) {
+            return false;
+        }
+        plugin.setVersion(version);
+        if (!addedElements.contains(plugin)) {
+            List<PomEdit.Step> versionPath = Arrays.asList(PomEdit.Step.of("build"), PomEdit.Step.of("plugins"),
+                    PomEdit.Step.of("plugin", "artifactId", plugin.getArtifactId()),
+                    PomEdit.Step.of("version"));
+            edits.add(PomEdit.replace(versionPath, () -> dom("version", plugin.getVersion())));
+        }
+        return true;
+    }
+
+    /**
+     * 为插件添加execution，已存在相同id的execution时不做处理。
+     *
+     * @return 是否真正添加
+     */
+    public boolean addPluginExecution(Plugin plugin, PluginExecution execution) {
+        for (PluginExecution existing : plugin.getExecutions()) {
+            if (Objects.equals(existing.getId(), execution.getId())) {
+                return false;
+            }
+        }
+        plugin.addExecution(execution);
+        if (!addedElements.contains(plugin)) {
+            List<PomEdit.Step> executionsPath = Arrays.asList(PomEdit.Step.of("build"), PomEdit.Step.of("plugins"),
+                    PomEdit.Step.of("plugin", "artifactId", plugin.getArtifactId()),
+                    PomEdit.Step.of("executions"));
+            edits.add(PomEdit.append(executionsPath, () -> toDom(execution)));
+        }
+        return true;
+    }
+
+    public Resource getResource(String directory) {
+        return resources.get(directory);
+    }
+
+    public void addResource(Resource resource) {
+        getOrCreateBuild().addResource(resource);
+        resources.put(resource.getDirectory(), resource);
+        addedElements.add(resource);
+        edits.add(PomEdit.append(path("build", "resources"), () -> toDom(resource)));
+    }
+
+    /**
+     * 为资源添加排除项，已存在时不做处理。
+     *
+     * @return 是否真正添加
+     */
+    public boolean addResourceExclude(Resource resource, String exclude) {
+        if (resource.getExcludes().contains(exclude)) {
+            return false;
+        }
+        resource.addExclude(exclude);
+        if (!addedElements.contains(resource)) {
+            List<PomEdit.Step> excludesPath = Arrays.asList(PomEdit.Step.of("build"), PomEdit.Step.of("resources"),
+                    PomEdit.Step.of("resource", "directory", resource.getDirectory()),
+                    PomEdit.Step.of("excludes"));
+            edits.add(PomEdit.append(excludesPath, () -> dom("exclude", exclude)));
+        }
+        return true;
+    }
+
+    private Build getOrCreateBuild() {
+        if (model.getBuild() == null) {
+            model.setBuild(new Build());
+        }
+        return model.getBuild();
+    }
+
+    private static List<PomEdit.Step> path(String... names) {
+        List<PomEdit.Step> steps = new ArrayList<>(names.length);
+        for (String name : names) {
+            steps.add(PomEdit.Step.of(name));
+        }
+        return steps;
+    }
+
+    private static Xpp3Dom dom(String name, String value) {
+        Xpp3Dom node = new Xpp3Dom(name);
+        node.setValue(value);
+        return node;
+    }
+
+    private static void addChild(Xpp3Dom parent, String name, String value) {
+        if (value != null) {
+            parent.addChild(dom(name, value));
+        }
+    }
+
+    private static Xpp3Dom toDom(Dependency dependency) {
+        Xpp3Dom node = new Xpp3Dom("dependency");
+        addChild(node, "groupId", dependency.getGroupId());
+        addChild(node, "artifactId", dependency.getArtifactId());
+        addChild(node, "version", dependency.getVersion());
+        if (!"jar".equals(dependency.getType())) {
+            addChild(node, "type", dependency.getType());
+        }
+        addChild(node, "classifier", dependency.getClassifier());
+        addChild(node, "scope", dependency.getScope());
+        if (dependency.isOptional()) {
+            addChild(node, "optional", "true");
+        }
+        return node;
+    }
+
+    private static Xpp3Dom toDom(Plugin plugin) {
+        Xpp3Dom node = new Xpp3Dom("plugin");
+        addChild(node, "groupId", plugin.getGroupId());
+        addChild(node, "artifactId", plugin.getArtifactId());
+        addChild(node, "version", plugin.getVersion());
+        if (!plugin.getExecutions().isEmpty()) {
+            Xpp3Dom executions = new Xpp3Dom("executions");
+            for (PluginExecution execution : plugin.getExecutions()) {
+                executions.addChild(toDom(execution));
+            }
+            node.addChild(executions);
+        }
+        if (plugin.getConfiguration() != null) {
+            node.addChild(new Xpp3Dom((Xpp3Dom) plugin.getConfiguration(), "configuration"));
+        }
+        return node;
+    }
+
+    private static Xpp3Dom toDom(PluginExecution execution) {
+        Xpp3Dom executionNode = new Xpp3Dom("execution");
+        if (!PluginExecution.DEFAULT_EXECUTION_ID.equals(execution.getId())) {
+            addChild(executionNode, "id", execution.getId());
+        }
+        addChild(executionNode, "phase", execution.getPhase());
+        if (!execution.getGoals().isEmpty()) {
+            Xpp3Dom goals = new Xpp3Dom("goals");
+            execution.getGoals().forEach(goal -> addChild(goals, "goal", goal));
+            executionNode.addChild(goals);
+        }
+        if (execution.getConfiguration() != null) {
+            executionNode.addChild(new Xpp3Dom((Xpp3Dom) execution.getConfiguration(), "configuration"));
+        }
+        return executionNode;
+    }
+
+    private static Xpp3Dom toDom(Resource resource) {
+        Xpp3Dom node = new Xpp3Dom("resource");
+        addChild(node, "directory", resource.getDirectory());
+        if (resource.isFiltering()) {
+            addChild(node, "filtering", "true");
+        }
+        if (!resource.getIncludes().isEmpty()) {
+            Xpp3Dom includes = new Xpp3Dom("includes");
+            resource.getIncludes().forEach(include -> addChild(includes, "include", include));
+            node.addChild(includes);
+        }
+        if (!resource.getExcludes().isEmpty()) {
+            Xpp3Dom excludes = new Xpp3Dom("excludes");
+            resource.getExcludes().forEach(exclude -> addChild(excludes, "exclude", exclude));
+            node.addChild(excludes);
+        }
+        return node;
+    }
+
+    private static Map<String, Dependency> indexDependencies(List<Dependency> dependencyList) {
+        Map<String, Dependency> index = new HashMap<>();
+        if (dependencyList != null) {
+            for (Dependency dep : dependencyList) {
+                index.putIfAbsent(dependencyKey(dep.getGroupId(), dep.getArtifactId()), dep);
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,370 @@
+package com.yifan.code_generator_maven_plugin.utils;
+
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+import java.util.*;
+
+/**
+ * @Description: 在POM原始文本上应用 {@link PomEdit}。
+ * 只对涉及的元素做插入或替换，其余内容（注释、空行、缩进、属性顺序等）原样保留。
+ * 无法定位目标元素时抛出 IllegalStateException，由调用方决定是否回退为整体重写。
+ */
+public class PomTextEditor {
+
+    private static final String DEFAULT_INDENT = "  ";
+
+    /**
+     * 原始文本中的一个元素及其位置信息
+     */
+    private static final class Element {
+        private final String name;
+        private final int start;
+        private int startTagEnd;
+        private int endTagStart;
+        private int end;
+        private boolean selfClosing;
+        private final List<Element> children = new ArrayList<>();
+
+        private Element(String name, int start) {
+            this.name = name;
+            this.start = start;
+        }
+    }
+
+    /**
+     * 一处文本修改：将 [start, end) 替换为 text，start == end 时为插入
+     */
+    private static final class Change {
+        private final int start;
+        private final int end;
+        private final String text;
+        private final int seq;
+
+        private Change(int start, int end, String text, int seq) {
+            this.start = start;
+            this.end = end;
+            this.text = text;
+            this.seq = seq;
+        }
+    }
+
+    private final String text;
+    private final Element root;
+    private final String indentUnit;
+    private final String lineSeparator;
+
+    public PomTextEditor(String text) {
+        this.text = text;
+        this.root = parse(text);
+        this.lineSeparator = text.contains("\r\n") ? "\r\n" : "\n";
+        this.indentUnit = root.children.isEmpty() || indentOf(root.children.get(0)).isEmpty()
+                ? DEFAULT_INDENT : indentOf(root.children.get(0));
+    }
+
+    /**
+     * 应用全部修改并返回新的文本。
+     *
+     * @param edits 修改列表，同一位置上的追加按列表顺序排列
+     * @return 修改后的文本
+     */
+    public String apply(List<PomEdit> edits) {
+        // 追加到同一元素的片段合并到一次插入中，需要新建的父元素也只创建一次
+        Map<Element, List<Xpp3Dom>> appends = new LinkedHashMap<>();
+        Set<Xpp3Dom> createdContainers = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Change> changes = new ArrayList<>();
+
+        for (PomEdit edit : edits) {
+            List<PomEdit.Step> path = edit.getPath();
+            if (edit.getType() == PomEdit.Type.REPLACE) {
+                Element target = find(path);
+                if (target != null) {
+                    changes.add(replaceChange(target, edit.renderFragment(), changes.size()));
+                    continue;
+                }
+                path = path.subList(0, path.size() - 1);
+            }
+            Resolved resolved = resolve(path);
+            List<Xpp3Dom> nodes = appends.computeIfAbsent(resolved.element, k -> new ArrayList<>());
+            Xpp3Dom container = null;
+            for (String name : resolved.missing) {
+                container = findOrCreateContainer(container == null ? nodes : Arrays.asList(container.getChildren()),
+                        container, name, nodes, createdContainers);
+            }
+            if (container == null) {
+                nodes.add(edit.renderFragment());
+            } else {
+                container.addChild(edit.renderFragment());
+            }
+        }
+
+        for (Map.Entry<Element, List<Xpp3Dom>> entry : appends.entrySet()) {
+            changes.add(appendChange(entry.getKey(), entry.getValue(), changes.size()));
+        }
+
+        // 从后往前应用，避免位置偏移；同一位置上先应用后记录的修改，保证最终顺序与记录顺序一致
+        changes.sort(Comparator.comparingInt((Change c) -> c.start).thenComparingInt(c -> c.seq).reversed());
+        StringBuilder sb = new StringBuilder(text);
+        for (Change change : changes) {
+            sb.replace(change.start, change.end, change.text);
+        }
+        return sb.toString();
+    }
+
+    private static final class Resolved {
+        private final Element element;
+        private final List<String> missing;
+
+        private Resolved(Element element, List<String> missing) {
+            this.element = element;
+            this.missing = missing;
+        }
+    }
+
+    /**
+     * 在已排好的待插入节点中查找本次新建的同名父元素，没有则新建并加入。
+     */
+    private Xpp3Dom findOrCreateContainer(List<Xpp3Dom> siblings, Xpp3Dom parent, String name,
+                                          List<Xpp3Dom> topLevel, Set<Xpp3Dom> createdContainers) {
+        for (Xpp3Dom sibling : siblings) {
+            if (sibling.getName().equals(name) && createdContainers.contains(sibling)) {
+                return sibling;
+            }
+        }
+        Xpp3Dom container = new Xpp3Dom(name);
+        createdContainers.add(container);
+        if (parent == null) {
+            topLevel.add(container);
+        } else {
+            parent.addChild(container);
+        }
+        return container;
+    }
+
+    /**
+     * 沿路径查找，返回最深的已存在元素以及其后缺失的元素名。
+     */
+    private Resolved resolve(List<PomEdit.Step> path) {
+        Element current = root;
+        for (int i = 0; i < path.size(); i++) {
+            Element child = findChild(current, path.get(i));
+            if (child == null) {
+                List<String> missing = new ArrayList<>();
+                for (PomEdit.Step step : path.subList(i, path.size())) {
+                    if (step.hasMatch()) {
+                        throw new IllegalStateException("Cannot locate element in pom: " + path);
+                    }
+                    missing.add(step.getName());
+                }
+                return new Resolved(current, missing);
+            }
+            current = child;
+        }
+        return new Resolved(current, Collections.emptyList());
+    }
+
+    private Element find(List<PomEdit.Step> path) {
+        Element current = root;
+        for (PomEdit.Step step : path) {
+            current = findChild(current, step);
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    private Element findChild(Element parent, PomEdit.Step step) {
+        for (Element child : parent.children) {
+            if (!child.name.equals(step.getName())) {
+                continue;
+            }
+            if (!step.hasMatch()) {
+                return child;
+            }
+            for (Element grandChild : child.children) {
+                if (grandChild.name.equals(step.getMatchChild()) && step.getMatchValue().equals(textOf(grandChild))) {
+                    return child;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Change appendChange(Element element, List<Xpp3Dom> nodes, int seq) {
+        String elementIndent = indentOf(element);
+        StringBuilder rendered = new StringBuilder();
+        for (Xpp3Dom node : nodes) {
+            render(node, elementIndent + indentUnit, rendered);
+        }
+
+        if (element.selfClosing) {
+            String startTag = text.substring(element.start, element.startTagEnd);
+            startTag = startTag.substring(0, startTag.length() - 2).trim() + ">";
+            return new Change(element.start, element.end,
+                    startTag + lineSeparator + rendered + elementIndent + "</" + element.name + ">", seq);
+        }
+
+        int lineStart = lineStartIfBlankBefore(element.endTagStart);
+        if (lineStart >= 0 && lineStart > element.startTagEnd) {
+            // 结束标签独占一行，插入到该行行首
+            return new Change(lineStart, lineStart, rendered.toString(), seq);
+        }
+        return new Change(element.endTagStart, element.endTagStart,
+                lineSeparator + rendered + elementIndent, seq);
+    }
+
+    private Change replaceChange(Element element, Xpp3Dom node, int seq) {
+        String elementIndent = indentOf(element);
+        StringBuilder rendered = new StringBuilder();
+        render(node, elementIndent, rendered);
+        String replacement = rendered.substring(elementIndent.length(),
+                rendered.length() - lineSeparator.length());
+        return new Change(element.start, element.end, replacement, seq);
+    }
+
+    private void render(Xpp3Dom node, String indent, StringBuilder sb) {
+        sb.append(indent).append('<').append(node.getName());
+        for (String attr : node.getAttributeNames()) {
+            sb.append(' ').append(attr).append("=\"").append(escape(node.getAttribute(attr))).append('"');
+        }
+        if (node.getChildCount() > 0) {
+            sb.append('>').append(lineSeparator);
+            for (Xpp3Dom child : node.getChildren()) {
+                render(child, indent + indentUnit, sb);
+            }
+            sb.append(indent).append("</").append(node.getName()).append('>');
+        } else if (node.getValue() != null) {
+            sb.append('>').append(escape(node.getValue())).append("</").append(node.getName()).append('>');
+        } else {
+            sb.append("/>");
+        }
+        sb.append(lineSeparator);
+    }
+
+    /**
+     * 元素所在行的缩进，元素前面同一行还有其他内容时返回空串
+     */
+    private String indentOf(Element element) {
+        int lineStart = lineStartIfBlankBefore(element.start);
+        return lineStart < 0 ? "" : text.substring(lineStart, element.start);
+    }
+
+    /**
+     * 如果 pos 之前到行首都是空白，返回行首位置，否则返回 -1
+     */
+    private int lineStartIfBlankBefore(int pos) {
+        int i = pos - 1;
+        while (i >= 0 && text.charAt(i) != '\n') {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return -1;
+            }
+            i--;
+        }
+        return i + 1;
+    }
+
+    private String textOf(Element element) {
+        if (element.selfClosing) {
+            return "";
+        }
+        return unescape(text.substring(element.startTagEnd, element.endTagStart).trim());
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static String unescape(String value) {
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    /**
+     * 轻量的XML扫描，只记录元素名和位置，跳过注释、CDATA、处理指令和DOCTYPE。
+     */
+    private static Element parse(String text) {
+        Deque<Element> stack = new ArrayDeque<>();
+        Element documentRoot = null;
+        int i = 0;
+        int len = text.length();
+        while (true) {
+            int lt = text.indexOf('<', i);
+            if (lt < 0) {
+                break;
+            }
+            if (text.startsWith("<!--", lt)) {
+                i = skipPast(text, lt, "-->");
+            } else if (text.startsWith("<![CDATA[", lt)) {
+                i = skipPast(text, lt, "]]>");
+            } else if (text.startsWith("<?", lt)) {
+                i = skipPast(text, lt, "?>");
+            } else if (text.startsWith("<!", lt)) {
+                i = skipPast(text, lt, ">");
+            } else if (text.startsWith("</", lt)) {
+                int gt = skipPast(text, lt, ">");
+                String name = text.substring(lt + 2, gt - 1).trim();
+                Element element = stack.poll();
+                if (element == null || !element.name.equals(name)) {
+                    throw new IllegalStateException("Unbalanced tag </" + name + "> at offset " + lt);
+                }
+                element.endTagStart = lt;
+                element.end = gt;
+                i = gt;
+            } else {
+                int gt = findTagEnd(text, lt);
+                int nameEnd = lt + 1;
+                while (nameEnd < len && !Character.isWhitespace(text.charAt(nameEnd))
+                        && text.charAt(nameEnd) != '/' && text.charAt(nameEnd) != '>') {
+                    nameEnd++;
+                }
+                Element element = new Element(text.substring(lt + 1, nameEnd), lt);
+                element.startTagEnd = gt;
+                element.selfClosing = text.charAt(gt - 2) == '/';
+                if (element.selfClosing) {
+                    element.end = gt;
+                }
+                if (stack.isEmpty()) {
+                    if (documentRoot != null) {
+                        throw new IllegalStateException("Multiple root elements in pom");
+                    }
+                    documentRoot = element;
+                } else {
+                    stack.peek().children.add(element);
+                }
+                if (!element.selfClosing) {
+                    stack.push(element);
+                }
+                i = gt;
+            }
+        }
+        if (documentRoot == null || !stack.isEmpty()) {
+            throw new IllegalStateException("Malformed pom document");
+        }
+        return documentRoot;
+    }
+
+    private static int skipPast(String text, int from, String terminator) {
+        int idx = text.indexOf(terminator, from);
+        if (idx < 0) {
+            throw new IllegalStateException("Unterminated markup at offset " + from);
+        }
+        return idx + terminator.length();
+    }
+
+    private static int findTagEnd(String text, int from) {
+        char quote = 0;
+        for (int i = from + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i + 1;
+            }
+        }
+        throw new IllegalStateException("Unterminated tag at offset " + from);
+    }
+}
@@ -5,6 +5,7 @@ import com.yifan.code_generator_maven_plugin.constant.Constants;
 import com.yifan.code_generator_maven_plugin.model.ColumnDefinition;
 import com.yifan.code_generator_maven_plugin.model.GeneratorConfig;
 import com.yifan.code_generator_maven_plugin.model.JdbcConfig;
+import com.yifan.code_generator_maven_plugin.model.RelationConfig;
 import com.yifan.code_generator_maven_plugin.model.TableConfig;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
@@ -13,16 +14,28 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.*;
 import java.util.*;
 import java.util.stream.Collectors;
 
 public class SchemaSynchronizer {
 
-    private final GeneratorConfig generatorConfig;
+    private GeneratorConfig generatorConfig;
     private final Log log;
     private final MavenProject project; // Made final as it's set once in constructor
 
+    /**
+     * 本次同步读取到的表结构快照：表名 -> (列名 -> 列定义)，不存在的表对应 null
+     */
+    private final Map<String, Map<String, ColumnDefinition>> snapshot = new TreeMap<>();
+
+    /**
+     * 与 snapshot 同时读取的索引信息：表名 -> (索引名 -> 按顺序排列的小写列名)
+     */
+    private final Map<String, Map<String, List<String>>> indexSnapshot = new TreeMap<>();
+
 
     /**
      * Constructor for SchemaSynchronizer.
@@ -37,6 +50,16 @@ public class SchemaSynchronizer {
         this.log = log;
     }
 
+    /**
+     * Replaces the generator configuration while keeping the schema snapshot,
+     * used by watch mode after the configuration file is reloaded.
+     *
+     * @param generatorConfig The reloaded generator configuration.
+     */
+    public void setGeneratorConfig(GeneratorConfig generatorConfig) {
+        this.generatorConfig = generatorConfig;
+    }
+
     /**
      * Synchronizes the database schema based on the provided table configurations.
      *
@@ -47,6 +70,22 @@ public class SchemaSynchronizer {
      * @throws IOException            If an I/O error occurs while saving the SQL script.
      */
     public void syncSchema(List<TableConfig> tables, boolean executeSql) throws SQLException, ClassNotFoundException, IOException {
+        syncSchema(tables, executeSql, false);
+    }
+
+    /**
+     * Synchronizes the database schema, optionally reusing the snapshot read by a previous call
+     * so that repeated runs in the same process (watch mode) do not query the database metadata again.
+     *
+     * @param tables        List of table configurations to synchronize.
+     * @param executeSql    If true, the generated SQL statements will be executed on the database.
+     * @param reuseSnapshot If true and the snapshot already covers all tables, skip reading database metadata.
+     * @throws SQLException           If a database access error occurs.
+     * @throws ClassNotFoundException If the JDBC driver class cannot be found.
+     * @throws IOException            If an I/O error occurs while saving the SQL script.
+     */
+    public void syncSchema(List<TableConfig> tables, boolean executeSql, boolean reuseSnapshot)
+            throws SQLException, ClassNotFoundException, IOException {
         // Early exit if JDBC configuration is missing
         if (generatorConfig == null || generatorConfig.getBaseConfigs() == null || generatorConfig.getBaseConfigs().getJdbcConfig() == null) {
             log.warn("JDBC configuration not found, skipping database synchronization.");
@@ -71,15 +110,21 @@ public class SchemaSynchronizer {
         Class.forName(driver);
 
         // Generate SQL statements
-        try (Connection connection = DriverManager.getConnection(url, username, password)) {
-            for (TableConfig table : tables) {
-                if (!tableExists(connection, table.getTableName())) {
-                    printInfoLog("Table '" + table.getTableName() + "' does not exist. Generating CREATE TABLE statement.");
-                    sqlStatements.add(generateCreateTableSql(table));
-                } else {
-                    printInfoLog("Table '" + table.getTableName() + "' exists. Generating ALTER TABLE statements.");
-                    sqlStatements.addAll(generateAlterTableSql(connection, table));
-                }
+        boolean snapshotCovered = reuseSnapshot && tables.stream().allMatch(t -> snapshot.containsKey(t.getTableName()));
+        if (snapshotCovered) {
+            printInfoLog("Reusing cached schema snapshot.");
+        } else {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                readSnapshot(connection, tables);
+            }
+        }
+        for (TableConfig table : tables) {
+            if (snapshot.get(table.getTableName()) == null) {
+                printInfoLog("Table '" + table.getTableName() + "' does not exist. Generating CREATE TABLE statement.");
+                sqlStatements.add(generateCreateTableSql(table));
+            } else {
+                printInfoLog("Table '" + table.getTableName() + "' exists. Generating ALTER TABLE statements.");
+                sqlStatements.addAll(generateAlterTableSql(table));
             }
         }
 
@@ -99,6 +144,9 @@ public class SchemaSynchronizer {
                     statement.executeBatch();
                     printInfoLog("Database schema updated successfully. ✅");
                 }
+                // The database no longer matches the snapshot
+                snapshot.clear();
+                indexSnapshot.clear();
             } else {
                 printInfoLog("SQL scripts generated. To apply them to the database, run with -DsyncDb=true. 📄");
             }
@@ -108,16 +156,14 @@ public class SchemaSynchronizer {
     }
 
     /**
-     * Generates ALTER TABLE statements for a given table by comparing desired and existing columns.
+     * Generates ALTER TABLE statements for a given table by comparing desired columns with the snapshot.
      *
-     * @param connection The database connection.
-     * @param table      The table configuration.
+     * @param table The table configuration.
      * @return A list of ALTER TABLE statements.
-     * @throws SQLException If a database access error occurs.
      */
-    private List<String> generateAlterTableSql(Connection connection, TableConfig table) throws SQLException {
+    private List<String> generateAlterTableSql(TableConfig table) {
         List<String> alterStatements = new ArrayList<>();
-        Map<String, ColumnDefinition> existingColumns = getExistingColumns(connection, table.getTableName());
+        Map<String, ColumnDefinition> existingColumns = snapshot.get(table.getTableName());
         Map<String, ColumnDefinition> desiredColumns = table.getColumns().stream()
                 .collect(Collectors.toMap(c -> CommonFunc.toSnakeCase(c.getJavaName()), c -> c));
 
@@ -158,9 +204,102 @@ public class SchemaSynchronizer {
             }
         });
 
+        // 4. Add the secondary indexes the generated queries rely on, unless an existing index already starts with their columns
+        for (List<String> index : requiredIndexes(table)) {
+            if (!hasIndexStartingWith(table.getTableName(), index)) {
+                String indexName = indexName(index);
+                alterStatements.add(String.format("ALTER TABLE `%s` ADD INDEX `%s` (%s);",
+                        table.getTableName(), indexName, joinColumns(index)));
+                printInfoLog(String.format("Generated ADD INDEX for table '%s', index '%s'.", table.getTableName(), indexName));
+            }
+        }
+
+        // 5. Add a FULLTEXT index for every column searched with MATCH ... AGAINST
+        for (String column : fullTextIndexColumns(table)) {
+            String indexName = fullTextIndexName(column);
+            if (!hasIndexNamed(table.getTableName(), indexName)) {
+                alterStatements.add(String.format("ALTER TABLE `%s` ADD FULLTEXT INDEX `%s` (`%s`) WITH PARSER ngram;",
+                        table.getTableName(), indexName, column));
+                printInfoLog(String.format("Generated ADD FULLTEXT INDEX for table '%s', index '%s'.", table.getTableName(), indexName));
+            }
+        }
+
         return alterStatements;
     }
 
+    /**
+     * Reads the current schema snapshot of the configured tables and returns its checksum,
+     * without generating or executing any SQL.
+     *
+     * @param tables List of table configurations to inspect.
+     * @return The snapshot checksum, or null if JDBC configuration is missing.
+     * @throws SQLException           If a database access error occurs.
+     * @throws ClassNotFoundException If the JDBC driver class cannot be found.
+     */
+    public String readSnapshotChecksum(List<TableConfig> tables) throws SQLException, ClassNotFoundException {
+        if (generatorConfig == null || generatorConfig.getBaseConfigs() == null || generatorConfig.getBaseConfigs().getJdbcConfig() == null) {
+            return null;
+        }
+        JdbcConfig jdbcConfig = generatorConfig.getBaseConfigs().getJdbcConfig();
+        Class.forName(jdbcConfig.getDriver());
+        try (Connection connection = DriverManager.getConnection(jdbcConfig.getUrl(), jdbcConfig.getUsername(), jdbcConfig.getPassword())) {
+            readSnapshot(connection, tables);
+        }
+        return getSnapshotChecksum();
+    }
+
+    /**
+     * Checksum of the schema snapshot read by the last {@link #syncSchema} or {@link #readSnapshotChecksum} call.
+     *
+     * @return The SHA-256 hex checksum, or null if no snapshot has been read.
+     */
+    public String getSnapshotChecksum() {
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        snapshot.forEach((tableName, columns) -> {
+            sb.append(tableName).append(columns == null ? ":absent" : ":present").append('\n');
+            if (columns != null) {
+                new TreeMap<>(columns).forEach((name, col) -> sb.append("  ").append(name).append(' ')
+                        .append(col.getDbType()).append(' ').append(col.getComment()).append('\n'));
+                indexSnapshot.getOrDefault(tableName, Collections.emptyMap())
+                        .forEach((name, cols) -> sb.append("  index ").append(name).append(' ').append(cols).append('\n'));
+            }
+        });
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads existence and columns of every configured table once into the snapshot.
+     *
+     * @param connection The database connection.
+     * @param tables     List of table configurations.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void readSnapshot(Connection connection, List<TableConfig> tables) throws SQLException {
+        snapshot.clear();
+        indexSnapshot.clear();
+        for (TableConfig table : tables) {
+            String tableName = table.getTableName();
+            if (tableExists(connection, tableName)) {
+                snapshot.put(tableName, getExistingColumns(connection, tableName));
+                indexSnapshot.put(tableName, getExistingIndexes(connection, tableName));
+            } else {
+                snapshot.put(tableName, null);
+            }
+        }
+    }
+
     /**
      * Generates an SQL statement to add a new column.
      *
@@ -247,6 +386,190 @@ public class SchemaSynchronizer {
         return columns;
     }
 
+    /**
+     * Retrieves existing indexes (including the primary key) for a given table from the database.
+     *
+     * @param connection The database connection.
+     * @param tableName  The name of the table.
+     * @return A map of index name to its lowercase column names in index order.
+     * @throws SQLException If a database access error occurs.
+     */
+    private Map<String, List<String>> getExistingIndexes(Connection connection, String tableName) throws SQLException {
+        Map<String, TreeMap<Short, String>> ordered = new TreeMap<>();
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, tableName, false, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString(Constants.ColumnConstants.INDEX_NAME);
+                String columnName = rs.getString(Constants.ColumnConstants.COLUMN_NAME);
+                if (indexName == null || columnName == null) {
+                    continue;
+                }
+                ordered.computeIfAbsent(indexName, k -> new TreeMap<>())
+                        .put(rs.getShort(Constants.ColumnConstants.ORDINAL_POSITION), columnName.toLowerCase());
+            }
+        }
+        Map<String, List<String>> indexes = new TreeMap<>();
+        ordered.forEach((name, columns) -> indexes.put(name, new ArrayList<>(columns.values())));
+        return indexes;
+    }
+
+    /**
+     * Checks whether the snapshot contains an index on the table that starts with the given columns.
+     * InnoDB appends the primary key to every secondary index, so a trailing id is not required to match.
+     *
+     * @param tableName The name of the table.
+     * @param columns   The lowercase index columns.
+     * @return True if a matching index exists.
+     */
+    private boolean hasIndexStartingWith(String tableName, List<String> columns) {
+        return indexSnapshot.getOrDefault(tableName, Collections.emptyMap()).values().stream()
+                .anyMatch(existing -> startsWith(existing, columns));
+    }
+
+    /**
+     * Checks whether the snapshot contains an index with the given name. JDBC metadata does not expose the index type,
+     * so FULLTEXT indexes are recognised by the ft_ naming convention used when creating them.
+     *
+     * @param tableName The name of the table.
+     * @param indexName The index name.
+     * @return True if the index exists.
+     */
+    private boolean hasIndexNamed(String tableName, String indexName) {
+        return indexSnapshot.getOrDefault(tableName, Collections.emptyMap()).keySet().stream()
+                .anyMatch(indexName::equalsIgnoreCase);
+    }
+
+    /**
+     * Columns searched with MATCH ... AGAINST by the generated list queries, each needing its own FULLTEXT index.
+     *
+     * @param table The table configuration.
+     * @return The lowercase column names with searchMode fulltext.
+     */
+    private static List<String> fullTextIndexColumns(TableConfig table) {
+        return table.getColumns().stream()
+                .filter(column -> Constants.SearchModeConstants.FULLTEXT.equals(column.resolveSearchMode()))
+                .map(column -> CommonFunc.toSnakeCase(column.getJavaName()))
+                .toList();
+    }
+
+    private static String fullTextIndexName(String column) {
+        return "ft_" + column;
+    }
+
+    /**
+     * Secondary indexes required by the generated queries, each as lowercase column names in index order.
+     *
+     * @param table The table configuration.
+     * @return The keyset pagination index, the list filter index and the foreign key indexes, without indexes
+     * already covered by a longer one.
+     */
+    private List<List<String>> requiredIndexes(TableConfig table) {
+        List<List<String>> indexes = new ArrayList<>();
+        List<String> keysetIndex = keysetIndexColumns(table);
+        if (keysetIndex != null) {
+            indexes.add(keysetIndex);
+        }
+        List<String> filterIndex = filterIndexColumns(table);
+        if (filterIndex != null) {
+            indexes.add(filterIndex);
+        }
+        for (String foreignKey : foreignKeyColumns(table)) {
+            indexes.add(withDeletedPrefix(table, List.of(foreignKey)));
+        }
+        List<List<String>> required = new ArrayList<>();
+        for (List<String> index : indexes) {
+            boolean covered = required.stream().anyMatch(other -> startsWith(other, index))
+                    || indexes.stream().anyMatch(other -> other.size() > index.size() && startsWith(other, index));
+            if (!covered) {
+                required.add(index);
+            }
+        }
+        return required;
+    }
+
+    /**
+     * Foreign key columns stored in the table: its own many-to-one relations and the one-to-many relations of other
+     * tables pointing at it. Relation loaders query them with IN (...), so each needs an index.
+     *
+     * @param table The table configuration.
+     * @return The lowercase foreign key column names, without duplicates.
+     */
+    private Set<String> foreignKeyColumns(TableConfig table) {
+        Set<String> columns = new LinkedHashSet<>();
+        for (RelationConfig relation : table.getRelations()) {
+            if (relation.isManyToOne()) {
+                columns.add(relation.getForeignKeyDbName());
+            }
+        }
+        if (generatorConfig.getModelSettings() != null) {
+            for (TableConfig other : generatorConfig.getModelSettings().getTables()) {
+                for (RelationConfig relation : other.getRelations()) {
+                    if (!relation.isManyToOne() && table.getEntityName().equals(relation.getTarget())) {
+                        columns.add(relation.getForeignKeyDbName());
+                    }
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Checks whether an index starts with the columns of another one, ignoring the trailing id InnoDB appends anyway.
+     */
+    private static boolean startsWith(List<String> index, List<String> prefix) {
+        int length = prefix.size() > 1 && Constants.ColumnConstants.ID.equals(prefix.get(prefix.size() - 1))
+                ? prefix.size() - 1 : prefix.size();
+        return index.size() >= length && index.subList(0, length).equals(prefix.subList(0, length));
+    }
+
+    /**
+     * Columns of the composite index required by keyset pagination: the sort column followed by id.
+     * Generated list queries always filter on deleted = 0 for tables using BaseEntity, so the index starts with deleted
+     * and soft-deleted rows are skipped by the index range instead of by row lookups.
+     *
+     * @param table The table configuration.
+     * @return The index columns, or null if the table does not need one (offset pagination or ordering by id only).
+     */
+    private List<String> keysetIndexColumns(TableConfig table) {
+        ColumnDefinition sortColumn = table.resolveKeysetColumn();
+        if (sortColumn == null) {
+            return null;
+        }
+        return withDeletedPrefix(table, List.of(CommonFunc.toSnakeCase(sortColumn.getJavaName()), Constants.ColumnConstants.ID));
+    }
+
+    /**
+     * Columns of the index backing the common list filters configured by filterIndexColumns.
+     *
+     * @param table The table configuration.
+     * @return The index columns, or null if no filter columns are configured.
+     */
+    private List<String> filterIndexColumns(TableConfig table) {
+        List<String> columns = table.resolveFilterIndexColumns();
+        if (columns.isEmpty()) {
+            return null;
+        }
+        return withDeletedPrefix(table, columns);
+    }
+
+    private static List<String> withDeletedPrefix(TableConfig table, List<String> columns) {
+        if (!table.isUseBaseEntity() || columns.contains(Constants.ColumnConstants.DELETED)) {
+            return columns;
+        }
+        List<String> prefixed = new ArrayList<>();
+        prefixed.add(Constants.ColumnConstants.DELETED);
+        prefixed.addAll(columns);
+        return prefixed;
+    }
+
+    private static String indexName(List<String> columns) {
+        return "idx_" + String.join("_", columns);
+    }
+
+    private static String joinColumns(List<String> columns) {
+        return columns.stream().map(c -> "`" + c + "`").collect(Collectors.joining(", "));
+    }
+
     /**
      * Checks if a table exists in the database.
      *
@@ -292,7 +615,15 @@ public class SchemaSynchronizer {
             sql.append("  `version` INT DEFAULT 1 COMMENT '乐观锁版本号',\n");
         }
 
-        sql.append("  PRIMARY KEY (`id`)\n");
+        sql.append("  PRIMARY KEY (`id`)");
+        for (List<String> index : requiredIndexes(table)) {
+            sql.append(",\n  KEY `").append(indexName(index)).append("` (").append(joinColumns(index)).append(")");
+        }
+        // The ngram parser tokenizes by characters, so Chinese text is searchable as well
+        for (String column : fullTextIndexColumns(table)) {
+            sql.append(",\n  FULLTEXT KEY `").append(fullTextIndexName(column)).append("` (`").append(column).append("`) WITH PARSER ngram");
+        }
+        sql.append("\n");
         sql.append(") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='").append(table.getEntityName()).append("';");
         return sql.toString();
     }
@@ -0,0 +1,186 @@
+package com.yifan.code_generator_maven_plugin.utils;
+
+import org.apache.maven.plugin.logging.Log;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * @Description: 按声明的输入/输出把生成步骤组织成DAG并发执行。
+ * 一个阶段依赖于所有在它之前注册、且输出与它的输入（或输出）有交集的阶段；互不相关的阶段并发执行。
+ * 每个阶段的结果单独记录，某个阶段失败时只阻塞依赖它的阶段。
+ */
+public class StageScheduler {
+
+    /**
+     * 阶段执行体
+     */
+    @FunctionalInterface
+    public interface StageAction {
+        void run() throws Exception;
+    }
+
+    /**
+     * 一个生成阶段及其声明的输入、输出
+     */
+    public static final class Stage {
+        private final String name;
+        private final Set<String> inputs;
+        private final Set<String> outputs;
+        private final StageAction action;
+
+        public Stage(String name, Set<String> inputs, Set<String> outputs, StageAction action) {
+            this.name = name;
+            this.inputs = inputs;
+            this.outputs = outputs;
+            this.action = action;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        private boolean dependsOn(Stage upstream) {
+            return !Collections.disjoint(upstream.outputs, inputs) || !Collections.disjoint(upstream.outputs, outputs);
+        }
+    }
+
+    public enum Status {
+        SUCCESS, FAILED, SKIPPED, BLOCKED
+    }
+
+    /**
+     * 单个阶段的执行结果
+     */
+    public static final class StageResult {
+        private final String name;
+        private final Status status;
+        private final long durationMillis;
+        private final String reason;
+        private final Throwable error;
+
+        private StageResult(String name, Status status, long durationMillis, String reason, Throwable error) {
+            this.name = name;
+            this.status = status;
+            this.durationMillis = durationMillis;
+            this.reason = reason;
+            this.error = error;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public Throwable getError() {
+            return error;
+        }
+
+        private boolean isBroken() {
+            return status == Status.FAILED || status == Status.BLOCKED;
+        }
+    }
+
+    private final Log log;
+    private final int parallelism;
+    private final List<Stage> stages = new ArrayList<>();
+
+    public StageScheduler(Log log, int parallelism) {
+        this.log = log;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public StageScheduler addStage(Stage stage) {
+        stages.add(stage);
+        return this;
+    }
+
+    public List<String> getStageNames() {
+        return stages.stream().map(Stage::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * 执行全部阶段并等待结束。
+     *
+     * @param selected 只执行这些阶段，为空表示全部执行
+     * @param skipped  跳过这些阶段
+     * @return 按注册顺序排列的各阶段结果
+     */
+    public List<StageResult> run(Set<String> selected, Set<String> skipped) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, stages.size())), r -> {
+            Thread thread = new Thread(r, "code-generator-stage-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<String, CompletableFuture<StageResult>> futures = new LinkedHashMap<>();
+            for (Stage stage : stages) {
+                List<Stage> upstreams = stages.subList(0, stages.indexOf(stage)).stream()
+                        .filter(stage::dependsOn)
+                        .collect(Collectors.toList());
+                List<CompletableFuture<StageResult>> upstreamFutures = upstreams.stream()
+                        .map(s -> futures.get(s.getName()))
+                        .collect(Collectors.toList());
+                boolean enabled = (selected.isEmpty() || selected.contains(stage.getName()))
+                        && !skipped.contains(stage.getName());
+
+                CompletableFuture<StageResult> future = CompletableFuture
+                        .allOf(upstreamFutures.toArray(CompletableFuture<?>[]::new))
+                        .thenApplyAsync(v -> {
+                            if (!enabled) {
+                                return new StageResult(stage.getName(), Status.SKIPPED, 0L, "not selected", null);
+                            }
+                            for (CompletableFuture<StageResult> upstream : upstreamFutures) {
+                                StageResult upstreamResult = upstream.join();
+                                if (upstreamResult.isBroken()) {
+                                    return new StageResult(stage.getName(), Status.BLOCKED, 0L,
+                                            "upstream stage '" + upstreamResult.getName() + "' did not complete", null);
+                                }
+                            }
+                            return execute(stage);
+                        }, executor);
+                futures.put(stage.getName(), future);
+            }
+            return futures.values().stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private StageResult execute(Stage stage) {
+        long start = System.nanoTime();
+        printInfoLog("Stage [" + stage.getName() + "] started.");
+        try {
+            stage.action.run();
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            printInfoLog("Stage [" + stage.getName() + "] finished in " + elapsed + " ms.");
+            return new StageResult(stage.getName(), Status.SUCCESS, elapsed, null, null);
+        } catch (Exception e) {
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            log.error("Stage [" + stage.getName() + "] failed after " + elapsed + " ms: " + e.getMessage(), e);
+            return new StageResult(stage.getName(), Status.FAILED, elapsed, e.getMessage(), e);
+        }
+    }
+
+    private void printInfoLog(String logInfo) {
+        if (log.isInfoEnabled()) {
+            log.info(logInfo);
+        }
+    }
+}
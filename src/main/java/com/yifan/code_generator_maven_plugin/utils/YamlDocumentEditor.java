@@ -0,0 +1,324 @@
+package com.yifan.code_generator_maven_plugin.utils;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.nodes.*;
+
+import java.io.StringReader;
+import java.util.*;
+
+/**
+ * @Description: 在YAML原始文本上按路径修改标量值。
+ * 借助SnakeYAML compose得到的节点位置，只替换或插入涉及的行，其余内容（注释、空行、引号风格、键顺序、
+ * 多文档 --- 分隔的profile段）原样保留。修改作用于默认文档，即第一个没有声明
+ * spring.config.activate.on-profile（或旧式 spring.profiles: xxx）的文档。
+ * 不支持修改flow风格（{a: 1}）的映射，遇到时抛出 IllegalStateException。
+ */
+public class YamlDocumentEditor {
+
+    private static final String DEFAULT_INDENT = "  ";
+
+    private String text;
+    private boolean modified;
+
+    public YamlDocumentEditor(String text) {
+        this.text = text == null ? "" : text;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * 是否有任何值被修改
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * 读取默认文档中路径对应的标量值，不存在或不是标量时返回 null。
+     */
+    public String get(String... path) {
+        Node node = findNode(defaultDocument(), path);
+        return node instanceof ScalarNode ? ((ScalarNode) node).getValue() : null;
+    }
+
+    /**
+     * 路径不存在时写入。
+     *
+     * @return 是否修改了文本
+     */
+    public boolean setIfAbsent(Object value, String... path) {
+        if (findNode(defaultDocument(), path) != null) {
+            return false;
+        }
+        return set(value, path);
+    }
+
+    /**
+     * 设置标量值，缺失的父节点一并创建；值相同时不修改。
+     *
+     * @return 是否修改了文本
+     */
+    public boolean set(Object value, String... path) {
+        String rendered = renderScalar(value);
+        Node document = defaultDocument();
+        if (document == null || isEmptyScalar(document)) {
+            insert(documentInsertPosition(document), "", Arrays.asList(path), rendered);
+            return true;
+        }
+        if (!(document instanceof MappingNode)) {
+            throw new IllegalStateException("Root of yaml document is not a mapping");
+        }
+
+        MappingNode mapping = (MappingNode) document;
+        for (int i = 0; i < path.length; i++) {
+            checkBlockStyle(mapping, path);
+            NodeTuple tuple = findTuple(mapping, path[i]);
+            List<String> remaining = Arrays.asList(path).subList(i, path.length);
+            if (tuple == null) {
+                String indent = spaces(column(mapping.getValue().get(0).getKeyNode()));
+                insert(afterLine(lastLeafEnd(mapping)), indent, remaining, rendered);
+                return true;
+            }
+            Node valueNode = tuple.getValueNode();
+            if (i == path.length - 1) {
+                if (!(valueNode instanceof ScalarNode)) {
+                    throw new IllegalStateException("Cannot set " + String.join(".", path) + ": existing value is not a scalar");
+                }
+                if (String.valueOf(value).equals(((ScalarNode) valueNode).getValue()) && !isEmptyScalar(valueNode)) {
+                    return false;
+                }
+                if (isEmptyScalar(valueNode)) {
+                    replace(offset(valueNode.getStartMark().getIndex()), offset(valueNode.getEndMark().getIndex()),
+                            " " + rendered);
+                } else {
+                    replace(offset(valueNode.getStartMark().getIndex()), offset(valueNode.getEndMark().getIndex()), rendered);
+                }
+                return true;
+            }
+            if (isEmptyScalar(valueNode)) {
+                // "key:" 后面没有值，把剩余路径作为子节点写在它下面
+                String indent = spaces(column(tuple.getKeyNode())) + indentUnit();
+                int pos = offset(valueNode.getEndMark().getIndex());
+                StringBuilder block = new StringBuilder(lineSeparator());
+                appendBlock(block, indent, remaining.subList(1, remaining.size()), rendered);
+                replace(pos, pos, trimTrailingLineSeparator(block));
+                return true;
+            }
+            if (!(valueNode instanceof MappingNode)) {
+                throw new IllegalStateException("Cannot set " + String.join(".", path) + ": '" + path[i] + "' is not a mapping");
+            }
+            mapping = (MappingNode) valueNode;
+        }
+        return false;
+    }
+
+    /**
+     * 当前值等于 expected 时删除该键，删除后变空的父节点一并删除。
+     *
+     * @return 是否修改了文本
+     */
+    public boolean removeIfEquals(Object expected, String... path) {
+        Node document = defaultDocument();
+        List<MappingNode> mappings = new ArrayList<>();
+        List<NodeTuple> tuples = new ArrayList<>();
+        Node current = document;
+        for (String key : path) {
+            if (!(current instanceof MappingNode)) {
+                return false;
+            }
+            NodeTuple tuple = findTuple((MappingNode) current, key);
+            if (tuple == null) {
+                return false;
+            }
+            mappings.add((MappingNode) current);
+            tuples.add(tuple);
+            current = tuple.getValueNode();
+        }
+        if (!(current instanceof ScalarNode) || !String.valueOf(expected).equals(((ScalarNode) current).getValue())) {
+            return false;
+        }
+        int level = tuples.size() - 1;
+        while (level > 0 && mappings.get(level).getValue().size() == 1) {
+            level--;
+        }
+        NodeTuple removed = tuples.get(level);
+        checkBlockStyle(mappings.get(level), path);
+        int keyStart = offset(removed.getKeyNode().getStartMark().getIndex());
+        int lineStart = text.lastIndexOf('\n', keyStart - 1) + 1;
+        if (!text.substring(lineStart, keyStart).trim().isEmpty()) {
+            throw new IllegalStateException("Cannot remove " + String.join(".", path) + ": key does not start its line");
+        }
+        replace(lineStart, afterLine(lastLeafEnd(removed.getValueNode())), "");
+        return true;
+    }
+
+    private void insert(int pos, String indent, List<String> path, String rendered) {
+        StringBuilder block = new StringBuilder();
+        if (pos > 0 && text.charAt(pos - 1) != '\n') {
+            block.append(lineSeparator());
+        }
+        appendBlock(block, indent, path, rendered);
+        replace(pos, pos, block.toString());
+    }
+
+    private void appendBlock(StringBuilder block, String indent, List<String> path, String rendered) {
+        String currentIndent = indent;
+        for (int i = 0; i < path.size(); i++) {
+            block.append(currentIndent).append(renderKey(path.get(i))).append(':');
+            if (i == path.size() - 1) {
+                block.append(' ').append(rendered);
+            }
+            block.append(lineSeparator());
+            currentIndent += indentUnit();
+        }
+    }
+
+    private void replace(int start, int end, String replacement) {
+        text = text.substring(0, start) + replacement + text.substring(end);
+        modified = true;
+    }
+
+    /**
+     * 默认文档的根节点，不存在时返回 null
+     */
+    private Node defaultDocument() {
+        for (Node document : new Yaml().composeAll(new StringReader(text))) {
+            if (!isProfileDocument(document)) {
+                return document;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isProfileDocument(Node document) {
+        if (findNode(document, "spring", "config", "activate", "on-profile") != null) {
+            return true;
+        }
+        Node legacyProfiles = findNode(document, "spring", "profiles");
+        return legacyProfiles instanceof ScalarNode && !isEmptyScalar(legacyProfiles);
+    }
+
+    /**
+     * 默认文档不存在或为空时的写入位置：空文档的位置，或者第一个文档分隔符之前
+     */
+    private int documentInsertPosition(Node document) {
+        if (document != null) {
+            return offset(document.getStartMark().getIndex());
+        }
+        int separator = text.startsWith("---") ? 0 : text.indexOf("\n---");
+        return separator < 0 ? text.length() : separator == 0 ? 0 : separator + 1;
+    }
+
+    private static Node findNode(Node node, String... path) {
+        Node current = node;
+        for (String key : path) {
+            if (!(current instanceof MappingNode)) {
+                return null;
+            }
+            NodeTuple tuple = findTuple((MappingNode) current, key);
+            if (tuple == null) {
+                return null;
+            }
+            current = tuple.getValueNode();
+        }
+        return current;
+    }
+
+    private static NodeTuple findTuple(MappingNode mapping, String key) {
+        for (NodeTuple tuple : mapping.getValue()) {
+            Node keyNode = tuple.getKeyNode();
+            if (keyNode instanceof ScalarNode && key.equals(((ScalarNode) keyNode).getValue())) {
+                return tuple;
+            }
+        }
+        return null;
+    }
+
+    private static void checkBlockStyle(MappingNode mapping, String... path) {
+        if (mapping.getFlowStyle() == DumperOptions.FlowStyle.FLOW || mapping.getValue().isEmpty()) {
+            throw new IllegalStateException("Cannot edit flow-style mapping on path " + String.join(".", path));
+        }
+    }
+
+    private static boolean isEmptyScalar(Node node) {
+        return node instanceof ScalarNode && node.getStartMark().getIndex() == node.getEndMark().getIndex();
+    }
+
+    /**
+     * 节点中最后一个叶子节点的结束位置（码点下标）。
+     * flow风格的集合以自身的结束位置为准，结束的括号可能单独占一行。
+     */
+    private static int lastLeafEnd(Node node) {
+        if (node instanceof CollectionNode && ((CollectionNode<?>) node).getFlowStyle() == DumperOptions.FlowStyle.FLOW) {
+            return node.getEndMark().getIndex();
+        }
+        if (node instanceof MappingNode && !((MappingNode) node).getValue().isEmpty()) {
+            List<NodeTuple> tuples = ((MappingNode) node).getValue();
+            NodeTuple last = tuples.get(tuples.size() - 1);
+            return Math.max(last.getKeyNode().getEndMark().getIndex(), lastLeafEnd(last.getValueNode()));
+        }
+        if (node instanceof SequenceNode && !((SequenceNode) node).getValue().isEmpty()) {
+            List<Node> items = ((SequenceNode) node).getValue();
+            return lastLeafEnd(items.get(items.size() - 1));
+        }
+        return node.getEndMark().getIndex();
+    }
+
+    /**
+     * pos 所在行之后的下一行行首。
+     * 块标量（| 或 >）的结束位置已经是下一行行首，此时直接返回，不再跳过一行。
+     */
+    private int afterLine(int codePointIndex) {
+        int pos = offset(codePointIndex);
+        if (pos > 0 && text.charAt(pos - 1) == '\n') {
+            return pos;
+        }
+        int newline = text.indexOf('\n', pos);
+        return newline < 0 ? text.length() : newline + 1;
+    }
+
+    private static int column(Node node) {
+        return node.getStartMark().getColumn();
+    }
+
+    /**
+     * SnakeYAML的位置按码点计算，转换为字符串下标
+     */
+    private int offset(int codePointIndex) {
+        return text.offsetByCodePoints(0, Math.min(codePointIndex, text.codePointCount(0, text.length())));
+    }
+
+    private String indentUnit() {
+        for (String line : text.split("\n")) {
+            if (!line.isEmpty() && line.charAt(0) == ' ' && !line.trim().isEmpty() && !line.trim().startsWith("#")) {
+                return line.substring(0, line.length() - line.stripLeading().length());
+            }
+        }
+        return DEFAULT_INDENT;
+    }
+
+    private String lineSeparator() {
+        return text.contains("\r\n") ? "\r\n" : "\n";
+    }
+
+    private String trimTrailingLineSeparator(StringBuilder block) {
+        String value = block.toString();
+        return value.substring(0, value.length() - lineSeparator().length());
+    }
+
+    private static String spaces(int count) {
+        return " ".repeat(count);
+    }
+
+    private static String renderKey(String key) {
+        return renderScalar(key);
+    }
+
+    private static String renderScalar(Object value) {
+        String dumped = new Yaml().dump(value);
+        return dumped.endsWith("\n") ? dumped.substring(0, dumped.length() - 1) : dumped;
+    }
+}
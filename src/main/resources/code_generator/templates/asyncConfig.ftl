@@ -0,0 +1,15 @@
+package ${templateConfig.packageInfo};
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * @Description: 开启@Async，控制器方法在Spring Boot自动配置的任务线程池（applicationTaskExecutor）中执行。
+ * 线程池大小与数据库连接池一致，见 application.yml 的 spring.task.execution.pool
+ * @Author: Code Generator By Shawn Wang
+ * @Date: ${.now?string["yyyy-MM-dd HH:mm:ss"]}
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
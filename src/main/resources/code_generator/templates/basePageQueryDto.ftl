@@ -1,18 +1,40 @@
 package ${templateConfig.packageInfo};
 
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.Data;
-import javax.validation.constraints.Min;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Data
 @Schema(description = "通用分页查询实体")
 public class BasePageQueryDto {
 
+    /**
+     * 每页大小上限，超过时按上限查询，避免一次查询拉取整张表
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
     @Schema(description = "当前页码", defaultValue = "1")
     @Min(value = 1, message = "页码不能小于1")
     private Integer pageNum = 1;
 
     @Schema(description = "每页大小", defaultValue = "10")
     @Min(value = 1, message = "每页大小不能小于1")
+    @Max(value = MAX_PAGE_SIZE, message = "每页大小不能大于" + MAX_PAGE_SIZE)
     private Integer pageSize = 10;
-}
\ No newline at end of file
+
+    @Schema(description = "是否统计总条数，大表翻页时可传false跳过count查询，此时总条数为0", defaultValue = "true")
+    private Boolean searchCount = true;
+
+    /**
+     * 转换为MyBatis-Plus分页参数，页码和每页大小越界时按边界值处理
+     */
+    public <T> Page<T> toPage() {
+        long current = pageNum == null || pageNum < 1 ? 1 : pageNum;
+        long size = pageSize == null || pageSize < 1 ? 10 : Math.min(pageSize, MAX_PAGE_SIZE);
+        Page<T> page = new Page<>(current, size, !Boolean.FALSE.equals(searchCount));
+        page.setMaxLimit((long) MAX_PAGE_SIZE);
+        return page;
+    }
+}
@@ -0,0 +1,49 @@
+package ${templateConfig.packageInfo};
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @Description: 本地缓存配置，每个开启缓存的表对应一个Caffeine缓存，规格读取自 app.cache.specs.{表名}。
+ * 缓存开启了统计，引入actuator后命中率可通过 /actuator/metrics/cache.gets 查看
+ * @Author: Code Generator By Shawn Wang
+ * @Date: ${.now?string["yyyy-MM-dd HH:mm:ss"]}
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheConfig.CacheSpecProperties.class)
+public class CacheConfig {
+
+    /**
+     * 未单独配置规格的缓存使用的默认规格
+     */
+    private static final String DEFAULT_SPEC = "maximumSize=10000,expireAfterWrite=600s";
+
+    @Bean
+    public CacheManager cacheManager(CacheSpecProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(DEFAULT_SPEC).recordStats());
+        properties.getSpecs().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build()));
+        return cacheManager;
+    }
+
+    @Data
+    @ConfigurationProperties(prefix = "app.cache")
+    public static class CacheSpecProperties {
+        /**
+         * 缓存名 -> Caffeine规格，如 maximumSize=10000,expireAfterWrite=600s
+         */
+        private Map<String, String> specs = new LinkedHashMap<>();
+    }
+}
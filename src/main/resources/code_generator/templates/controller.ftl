@@ -4,6 +4,14 @@ import ${basePackage}.ApiResponse;
 import ${dtoPackage}.${entityName}AddDto;
 import ${dtoPackage}.${entityName}QueryDto;
 import ${dtoPackage}.${entityName}UpdateDto;
+<#if tableConfig.exportEnabled>
+import ${dtoPackage}.ExportFormat;
+</#if>
+<#if tableConfig.keysetPagination>
+import ${dtoPackage}.CursorPageResultVO;
+<#else>
+import ${dtoPackage}.PageResultVO;
+</#if>
 import ${voPackage}.${entityName}Vo;
 import ${servicePackage}.I${entityName}Service;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,10 +20,32 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+<#if metrics.enabled>
+import io.micrometer.core.annotation.Timed;
+</#if>
 import lombok.RequiredArgsConstructor;
+<#if tableConfig.exportEnabled>
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+</#if>
+<#if execution.async>
+import org.springframework.scheduling.annotation.Async;
+</#if>
 import org.springframework.web.bind.annotation.*;
+<#if tableConfig.exportEnabled>
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+</#if>
 
 import java.util.List;
+<#if execution.async>
+import java.util.concurrent.CompletableFuture;
+</#if>
+<#-- async模式下接口在任务线程池中执行，返回CompletableFuture，释放Tomcat请求线程 -->
+<#assign futureOpen = execution.async?then("CompletableFuture<", "")>
+<#assign futureClose = execution.async?then(">", "")>
+<#assign resultOpen = execution.async?then("CompletableFuture.completedFuture(", "")>
+<#assign resultClose = execution.async?then(")", "")>
 
 /**
  * @Description: ${entityName}管理API
@@ -26,52 +56,146 @@ import java.util.List;
 @RequestMapping("/api/${tableName?uncap_first}s") <#-- Assuming endpoint is plural form of table name -->
 @Tag(name = "${entityName}管理API", description = "${entityName}增删改查接口")
 @RequiredArgsConstructor
+<#if metrics.enabled>
+@Timed(value = "crud.controller", extraTags = {"entity", "${entityName}"}, histogram = true)
+</#if>
 public class ${entityName}Controller {
 
     private final I${entityName}Service ${entityName?uncap_first}Service;
 
     @PostMapping
-    @Operation(summary = "新增${entityName}")
-    public ApiResponse<Void> add${entityName}(@RequestBody ${entityName}AddDto ${entityName?uncap_first}AddDto) {
+<#if execution.async>
+    @Async
+</#if>    @Operation(summary = "新增${entityName}")
+    public ${futureOpen}ApiResponse<Void>${futureClose} add${entityName}(@RequestBody ${entityName}AddDto ${entityName?uncap_first}AddDto) {
         ${entityName?uncap_first}Service.add${entityName}(${entityName?uncap_first}AddDto);
-        return ApiResponse.success(null);
+        return ${resultOpen}ApiResponse.success(null)${resultClose};
     }
 
     @PutMapping
-    @Operation(summary = "修改${entityName}")
-    public ApiResponse<Void> update${entityName}(@RequestBody ${entityName}UpdateDto ${entityName?uncap_first}UpdateDto) {
+<#if execution.async>
+    @Async
+</#if>    @Operation(summary = "修改${entityName}")
+    public ${futureOpen}ApiResponse<Void>${futureClose} update${entityName}(@RequestBody ${entityName}UpdateDto ${entityName?uncap_first}UpdateDto) {
         ${entityName?uncap_first}Service.update${entityName}(${entityName?uncap_first}UpdateDto);
-        return ApiResponse.success(null);
+        return ${resultOpen}ApiResponse.success(null)${resultClose};
+    }
+
+    @PostMapping("/batch")
+<#if execution.async>
+    @Async
+</#if>    @Operation(summary = "批量新增${entityName}")
+    public ${futureOpen}ApiResponse<Void>${futureClose} add${entityName}Batch(@RequestBody List<${entityName}AddDto> ${entityName?uncap_first}AddDtos) {
+        ${entityName?uncap_first}Service.add${entityName}Batch(${entityName?uncap_first}AddDtos);
+        return ${resultOpen}ApiResponse.success(null)${resultClose};
+    }
+
+    @PostMapping("/import")
+<#if execution.async>
+    @Async
+</#if>    @Operation(summary = "批量导入${entityName}", description = "每批数据拼成一条多行INSERT语句写入，适合大批量导入")
+    public ${futureOpen}ApiResponse<Void>${futureClose} import${entityName}s(@RequestBody List<${entityName}AddDto> ${entityName?uncap_first}AddDtos) {
+        ${entityName?uncap_first}Service.import${entityName}s(${entityName?uncap_first}AddDtos);
+        return ${resultOpen}ApiResponse.success(null)${resultClose};
+    }
+
+    @PutMapping("/batch")
+<#if execution.async>
+    @Async
+</#if>    @Operation(summary = "批量修改${entityName}")
+    public ${futureOpen}ApiResponse<Void>${futureClose} update${entityName}Batch(@RequestBody List<${entityName}UpdateDto> ${entityName?uncap_first}UpdateDtos) {
+        ${entityName?uncap_first}Service.update${entityName}Batch(${entityName?uncap_first}UpdateDtos);
+        return ${resultOpen}ApiResponse.success(null)${resultClose};
+    }
+
+    @PostMapping("/batch/upsert")
+<#if execution.async>
+    @Async
+</#if>    @Operation(summary = "批量新增或修改${entityName}", description = "主键或唯一键已存在的行改为更新")
+    public ${futureOpen}ApiResponse<Void>${futureClose} upsert${entityName}Batch(@RequestBody List<${entityName}UpdateDto> ${entityName?uncap_first}UpdateDtos) {
+        ${entityName?uncap_first}Service.upsert${entityName}Batch(${entityName?uncap_first}UpdateDtos);
+        return ${resultOpen}ApiResponse.success(null)${resultClose};
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "删除${entityName}")
-    public ApiResponse<Void> delete${entityName}(@Parameter(description = "主键ID") @PathVariable Long id) {
+<#if execution.async>
+    @Async
+</#if>    @Operation(summary = "删除${entityName}")
+    public ${futureOpen}ApiResponse<Void>${futureClose} delete${entityName}(@Parameter(description = "主键ID") @PathVariable Long id) {
         ${entityName?uncap_first}Service.delete${entityName}(id);
-        return ApiResponse.success(null);
+        return ${resultOpen}ApiResponse.success(null)${resultClose};
+    }
+
+    @DeleteMapping("/batch")
+<#if execution.async>
+    @Async
+</#if>    @Operation(summary = "批量删除${entityName}", description = "请求体为主键ID列表，每批一条SQL")
+    public ${futureOpen}ApiResponse<Void>${futureClose} delete${entityName}Batch(@RequestBody List<Long> ids) {
+        ${entityName?uncap_first}Service.delete${entityName}Batch(ids);
+        return ${resultOpen}ApiResponse.success(null)${resultClose};
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "根据ID查询${entityName}")
-    public ApiResponse<${entityName}Vo> get${entityName}ById(@Parameter(description = "主键ID") @PathVariable Long id) {
+<#if execution.async>
+    @Async
+</#if>    @Operation(summary = "根据ID查询${entityName}")
+    public ${futureOpen}ApiResponse<${entityName}Vo>${futureClose} get${entityName}ById(@Parameter(description = "主键ID") @PathVariable Long id) {
         ${entityName}Vo ${entityName?uncap_first}Vo = ${entityName?uncap_first}Service.get${entityName}ById(id);
-        return ApiResponse.success(${entityName?uncap_first}Vo);
+        return ${resultOpen}ApiResponse.success(${entityName?uncap_first}Vo)${resultClose};
+    }
+
+<#if tableConfig.cacheEnabled>
+    @GetMapping("/batch")
+<#if execution.async>
+    @Async
+</#if>    @Operation(summary = "根据ID批量查询${entityName}", description = "优先读缓存，未命中的ID合并为一次查询")
+    public ${futureOpen}ApiResponse<List<${entityName}Vo>>${futureClose} get${entityName}ByIds(@Parameter(description = "主键ID列表") @RequestParam List<Long> ids) {
+        return ${resultOpen}ApiResponse.success(${entityName?uncap_first}Service.get${entityName}ByIds(ids))${resultClose};
     }
 
+</#if>
+<#if tableConfig.keysetPagination>
     @GetMapping
-    @Operation(summary = "查询${entityName}列表")
-    public ApiResponse<List<${entityName}Vo>> list${entityName}s(${entityName}QueryDto queryDto) {
-        List<${entityName}Vo> ${entityName?uncap_first}Vos = ${entityName?uncap_first}Service.list${entityName}s(queryDto);
-        return ApiResponse.success(${entityName?uncap_first}Vos);
+<#if execution.async>
+    @Async
+</#if>    @Operation(summary = "游标分页查询${entityName}列表", description = "首页不传cursor，之后每次传上一页返回的nextCursor")
+    public ${futureOpen}ApiResponse<CursorPageResultVO<${entityName}Vo>>${futureClose} list${entityName}s(${entityName}QueryDto queryDto) {
+        CursorPageResultVO<${entityName}Vo> ${entityName?uncap_first}Page = ${entityName?uncap_first}Service.list${entityName}s(queryDto);
+        return ${resultOpen}ApiResponse.success(${entityName?uncap_first}Page)${resultClose};
+    }
+<#else>
+    @GetMapping
+<#if execution.async>
+    @Async
+</#if>    @Operation(summary = "分页查询${entityName}列表")
+    public ${futureOpen}ApiResponse<PageResultVO<${entityName}Vo>>${futureClose} list${entityName}s(${entityName}QueryDto queryDto) {
+        PageResultVO<${entityName}Vo> ${entityName?uncap_first}Page = ${entityName?uncap_first}Service.list${entityName}s(queryDto);
+        return ${resultOpen}ApiResponse.success(${entityName?uncap_first}Page)${resultClose};
+    }
+</#if>
+<#if tableConfig.exportEnabled>
+
+    @GetMapping("/export")
+    @Operation(summary = "流式导出${entityName}", description = "按查询条件导出全部数据，逐行写出响应，format: CSV 或 NDJSON")
+    public ResponseEntity<StreamingResponseBody> export${entityName}s(${entityName}QueryDto queryDto,
+                                                        @Parameter(description = "导出格式") @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        StreamingResponseBody body = outputStream -> ${entityName?uncap_first}Service.export${entityName}s(queryDto, format, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"${tableName}." + format.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
     }
+</#if>
 
     @PutMapping("/no-version")
-    @Operation(summary = "修改${entityName}（不使用乐观锁）",
+<#if execution.async>
+    @Async
+</#if>    @Operation(summary = "修改${entityName}（不使用乐观锁）",
               description = "该接口不校验版本号，直接更新${entityName}数据")
     @ApiResponse(responseCode = "200", description = "更新成功",
                  content = @Content(mediaType = "text/plain", schema = @Schema(implementation = String.class)))
-    public ApiResponse<Void> update${entityName}NoVersion(@RequestBody ${entityName}UpdateDto ${entityName?uncap_first}UpdateDto) {
+    public ${futureOpen}ApiResponse<Void>${futureClose} update${entityName}NoVersion(@RequestBody ${entityName}UpdateDto ${entityName?uncap_first}UpdateDto) {
         ${entityName?uncap_first}Service.update${entityName}NoVersion(${entityName?uncap_first}UpdateDto);
-        return ApiResponse.success(null);
+        return ${resultOpen}ApiResponse.success(null)${resultClose};
     }
 }
@@ -0,0 +1,114 @@
+package ${templateConfig.packageInfo};
+
+import ${dtoPackage}.${entityName}AddDto;
+import ${dtoPackage}.${entityName}UpdateDto;
+import ${voPackage}.${entityName}Vo;
+import ${entityPackage}.${entityName};
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Description: ${entityName}对象转换器，按字段逐个赋值，不使用反射
+ * @Author: Code Generator By Shawn Wang
+ * @Date: ${.now?string["yyyy-MM-dd HH:mm:ss"]}
+ */
+public final class ${entityName}Converter {
+
+    private ${entityName}Converter() {
+    }
+
+    /**
+     * 新增DTO转实体
+     */
+    public static ${entityName} toEntity(${entityName}AddDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        ${entityName} entity = new ${entityName}();
+<#list tableConfig.columns as column>
+        entity.set${column.javaName?cap_first}(dto.get${column.javaName?cap_first}());
+</#list>
+        return entity;
+    }
+
+    /**
+     * 修改DTO转实体
+     */
+    public static ${entityName} toEntity(${entityName}UpdateDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        ${entityName} entity = new ${entityName}();
+        entity.setId(dto.getId());
+<#if tableConfig.useBaseEntity>
+        entity.setVersion(dto.getVersion());
+</#if>
+<#list tableConfig.columns as column>
+        entity.set${column.javaName?cap_first}(dto.get${column.javaName?cap_first}());
+</#list>
+        return entity;
+    }
+
+    /**
+     * 实体转VO
+     */
+    public static ${entityName}Vo toVo(${entityName} entity) {
+        if (entity == null) {
+            return null;
+        }
+        ${entityName}Vo vo = new ${entityName}Vo();
+        vo.setId(entity.getId());
+<#if tableConfig.useBaseEntity>
+        vo.setVersion(entity.getVersion());
+        vo.setCreateTime(entity.getCreateTime());
+        vo.setUpdatedTime(entity.getUpdatedTime());
+</#if>
+<#list tableConfig.columns as column>
+        vo.set${column.javaName?cap_first}(entity.get${column.javaName?cap_first}());
+</#list>
+        return vo;
+    }
+
+    /**
+     * 新增DTO列表转实体列表
+     */
+    public static List<${entityName}> toEntityList(List<${entityName}AddDto> dtos) {
+        if (dtos == null) {
+            return new ArrayList<>(0);
+        }
+        List<${entityName}> entities = new ArrayList<>(dtos.size());
+        for (${entityName}AddDto dto : dtos) {
+            entities.add(toEntity(dto));
+        }
+        return entities;
+    }
+
+    /**
+     * 修改DTO列表转实体列表
+     */
+    public static List<${entityName}> toUpdateEntityList(List<${entityName}UpdateDto> dtos) {
+        if (dtos == null) {
+            return new ArrayList<>(0);
+        }
+        List<${entityName}> entities = new ArrayList<>(dtos.size());
+        for (${entityName}UpdateDto dto : dtos) {
+            entities.add(toEntity(dto));
+        }
+        return entities;
+    }
+
+    /**
+     * 实体列表转VO列表
+     */
+    public static List<${entityName}Vo> toVoList(List<${entityName}> entities) {
+        if (entities == null) {
+            return new ArrayList<>(0);
+        }
+        List<${entityName}Vo> vos = new ArrayList<>(entities.size());
+        for (${entityName} entity : entities) {
+            vos.add(toVo(entity));
+        }
+        return vos;
+    }
+}
@@ -0,0 +1,31 @@
+package ${templateConfig.packageInfo};
+
+import lombok.Data;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Data
+@Schema(description = "通用游标分页查询实体")
+public class CursorPageQueryDto {
+
+    /**
+     * 每页大小上限
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @Schema(description = "游标，传上一页返回的nextCursor，查询第一页时不传")
+    private String cursor;
+
+    @Schema(description = "每页大小", defaultValue = "10")
+    @Min(value = 1, message = "每页大小不能小于1")
+    @Max(value = MAX_PAGE_SIZE, message = "每页大小不能大于" + MAX_PAGE_SIZE)
+    private Integer pageSize = 10;
+
+    /**
+     * 实际查询的每页大小，越界时按边界值处理
+     */
+    public int resolvePageSize() {
+        return pageSize == null || pageSize < 1 ? 10 : Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,62 @@
+package ${templateConfig.packageInfo};
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+* 通用游标分页结果返回实体，nextCursor 编码了本页最后一条记录的排序键
+*/
+@Data
+@Schema(description = "通用游标分页结果返回实体")
+public class CursorPageResultVO<T> implements Serializable {
+
+    @Schema(description = "下一页游标，没有更多数据时为空")
+    private String nextCursor;
+
+    @Schema(description = "是否还有更多数据")
+    private Boolean hasMore = false;
+
+    @Schema(description = "记录列表")
+    private List<T> records = Collections.emptyList();
+
+    /**
+     * 把排序键的各个值编码为不透明的游标
+     */
+    public static String encodeCursor(Object... values) {
+        StringJoiner joiner = new StringJoiner(".");
+        for (Object value : values) {
+            joiner.add(Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(String.valueOf(value).getBytes(StandardCharsets.UTF_8)));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor 游标，为空时返回 null
+     * @param size   排序键包含的值个数
+     * @return 排序键的各个值
+     * @throws IllegalArgumentException 游标格式不正确时抛出
+     */
+    public static String[] decodeCursor(String cursor, int size) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String[] parts = cursor.split("\\.", -1);
+        if (parts.length != size) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = new String(Base64.getUrlDecoder().decode(parts[i]), StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+}
@@ -1,5 +1,9 @@
 package ${templateConfig.packageInfo};
 
+<#if !tableConfig.useBaseEntity>
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+</#if>
 import com.baomidou.mybatisplus.annotation.TableName;
 import ${basePackage}.BaseEntity;
 import lombok.Data;
@@ -25,6 +29,14 @@ public class ${tableConfig.entityName}<#if tableConfig.useBaseEntity> extends Ba
 
 private static final long serialVersionUID = 1L;
 
+<#if !tableConfig.useBaseEntity>
+    /**
+    * 主键ID，使用BaseEntity时由BaseEntity提供；按id查询、修改及关联加载都依赖该字段
+    */
+    @TableId(value = "id", type = IdType.ASSIGN_ID)
+    private Long id;
+
+</#if>
 <#list tableConfig.columns as column>
     /**
     * ${column.comment}
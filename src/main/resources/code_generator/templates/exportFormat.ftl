@@ -0,0 +1,40 @@
+package ${templateConfig.packageInfo};
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * @Description: 流式导出格式
+ * @Author: Code Generator By Shawn Wang
+ * @Date: ${.now?string["yyyy-MM-dd HH:mm:ss"]}
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    /**
+     * 逗号分隔，首行为表头
+     */
+    CSV("text/csv;charset=UTF-8", "csv"),
+    /**
+     * 每行一个JSON对象
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    /**
+     * 转换为CSV单元格，包含逗号、引号或换行的值加引号并转义内部引号
+     */
+    public static String csvCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
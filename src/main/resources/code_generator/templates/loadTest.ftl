@@ -0,0 +1,275 @@
+#!/usr/bin/env -S java --source 21
+<#assign apiPath = "/api/" + tableName?uncap_first + "s">
+// ${moduleName} ${entityName}接口的HTTP压测，单文件Java程序，只依赖JDK 21（HttpClient + 虚拟线程），不参与项目编译。
+// 先启动应用，再执行：./load-test/${entityName}LoadTest [--base-url URL] [--concurrency N] [--warmup 秒] [--duration 秒]
+// 也可以用 java --source 21 load-test/${entityName}LoadTest 运行。每个虚拟线程循环发送请求（闭环压测），
+// 请求按 详情60% / 分页查询25% / 新增10% / 修改（不校验版本）5% 混合，预热结束后统计每类请求的p50/p99/最大延迟和吞吐量。
+// HTTP状态码不是2xx或响应体中code不是200时记为错误；压测期间新增的数据不会清理，不要对生产库运行。
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ${entityName}LoadTest {
+
+    enum Operation {
+        GET_BY_ID(60), LIST(25), ADD(10), UPDATE(5);
+
+        /**
+         * 该请求在混合中的占比（百分比）
+         */
+        final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*\"?(\\d+)\"?");
+    private static final Pattern SUCCESS_PATTERN = Pattern.compile("\"code\"\\s*:\\s*200\\b");
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    /**
+     * 表中没有数据时预先新增的行数，详情和修改请求需要已有的id
+     */
+    private static final int SEED_ROWS = 100;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        String baseUrl = options.getOrDefault("base-url", "${benchmark.loadTestBaseUrl}") + "${apiPath}";
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "${benchmark.loadTestConcurrency?c}"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "${benchmark.loadTestWarmupSeconds?c}"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "${benchmark.loadTestDurationSeconds?c}"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<Long> ids = loadIds(client, baseUrl);
+        if (ids.isEmpty()) {
+            for (int i = 0; i < SEED_ROWS; i++) {
+                send(client, post(baseUrl, body(null, SEQUENCE.incrementAndGet())));
+            }
+            ids = loadIds(client, baseUrl);
+        }
+        if (ids.isEmpty()) {
+            System.err.println("No ${entityName} rows available at " + baseUrl + ", is the application running?");
+            System.exit(1);
+        }
+
+        System.out.printf("Target %s, %d virtual threads, warmup %ds, duration %ds, %d ids%n",
+                baseUrl, concurrency, warmupSeconds, durationSeconds, ids.size());
+        run(client, baseUrl, ids, concurrency, warmupSeconds);
+        List<Worker> workers = run(client, baseUrl, ids, concurrency, durationSeconds);
+        report(workers, durationSeconds);
+    }
+
+    /**
+     * 启动concurrency个虚拟线程，每个线程循环发送请求直到压测时间结束
+     */
+    private static List<Worker> run(HttpClient client, String baseUrl, List<Long> ids, int concurrency, int seconds) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Worker> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Worker worker = new Worker(client, baseUrl, ids);
+                workers.add(worker);
+                executor.submit(() -> worker.runUntil(deadline));
+            }
+        }
+        return workers;
+    }
+
+    private static void report(List<Worker> workers, int seconds) {
+        System.out.printf("%-10s %10s %8s %10s %10s %10s %10s%n", "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            int count = 0;
+            int errors = 0;
+            for (Worker worker : workers) {
+                count += worker.counts[operation.ordinal()];
+                errors += worker.errors[operation.ordinal()];
+            }
+            long[] latencies = new long[count];
+            int offset = 0;
+            for (Worker worker : workers) {
+                int n = worker.counts[operation.ordinal()];
+                System.arraycopy(worker.latencies[operation.ordinal()], 0, latencies, offset, n);
+                offset += n;
+            }
+            Arrays.sort(latencies);
+            System.out.printf("%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f%n", operation, count, errors, (double) count / seconds,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), count == 0 ? 0 : latencies[count - 1] / 1e6);
+            totalRequests += count;
+            totalErrors += errors;
+        }
+        System.out.printf("Total: %d requests, %d errors, %.1f req/s%n", totalRequests, totalErrors, (double) totalRequests / seconds);
+    }
+
+    /**
+     * 已排序的纳秒延迟中第p分位的值（毫秒）
+     */
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    /**
+     * 读取第一页数据的id，用于详情和修改请求
+     */
+    private static List<Long> loadIds(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(client, get(baseUrl + "?pageSize=500"));
+        List<Long> ids = new ArrayList<>();
+        Matcher matcher = ID_PATTERN.matcher(response.body());
+        while (matcher.find()) {
+            ids.add(Long.valueOf(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    /**
+     * 新增/修改请求的JSON，id为空时为新增
+     */
+    private static String body(Long id, int i) {
+<#if tableConfig.columns?has_content>
+        return "{"
+<#list tableConfig.columns as column>
+                + "\"${column.javaName}\":" + <@jsonValue javaType=column.javaType name=column.javaName/><#sep> + ","</#sep>
+</#list>
+                + (id == null ? "" : ",\"id\":" + id) + "}";
+<#else>
+        return id == null ? "{}" : "{\"id\":" + id + "}";
+</#if>
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private static HttpRequest put(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json").PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private static HttpResponse<String> send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    /**
+     * 单个虚拟线程的统计，各线程各自记录，结束后再合并，压测期间没有共享的锁
+     */
+    static final class Worker {
+        private final HttpClient client;
+        private final String baseUrl;
+        private final List<Long> ids;
+        private final long[][] latencies = new long[Operation.values().length][1024];
+        private final int[] counts = new int[Operation.values().length];
+        private final int[] errors = new int[Operation.values().length];
+
+        Worker(HttpClient client, String baseUrl, List<Long> ids) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.ids = ids;
+        }
+
+        void runUntil(long deadline) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                Operation operation = pick(random.nextInt(100));
+                long start = System.nanoTime();
+                boolean ok;
+                try {
+                    HttpResponse<String> response = send(client, request(operation, random));
+                    ok = response.statusCode() / 100 == 2 && SUCCESS_PATTERN.matcher(response.body()).find();
+                } catch (IOException e) {
+                    ok = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                record(operation, System.nanoTime() - start, ok);
+            }
+        }
+
+        private HttpRequest request(Operation operation, ThreadLocalRandom random) {
+            Long id = ids.get(random.nextInt(ids.size()));
+            return switch (operation) {
+                case GET_BY_ID -> get(baseUrl + "/" + id);
+                case LIST -> get(baseUrl + "?pageSize=20");
+                case ADD -> post(baseUrl, body(null, SEQUENCE.incrementAndGet()));
+                case UPDATE -> put(baseUrl + "/no-version", body(id, SEQUENCE.incrementAndGet()));
+            };
+        }
+
+        private void record(Operation operation, long latencyNanos, boolean ok) {
+            int index = operation.ordinal();
+            if (counts[index] == latencies[index].length) {
+                latencies[index] = Arrays.copyOf(latencies[index], counts[index] * 2);
+            }
+            latencies[index][counts[index]++] = latencyNanos;
+            if (!ok) {
+                errors[index]++;
+            }
+        }
+
+        private static Operation pick(int roll) {
+            int cumulative = 0;
+            for (Operation operation : Operation.values()) {
+                cumulative += operation.weight;
+                if (roll < cumulative) {
+                    return operation;
+                }
+            }
+            return Operation.GET_BY_ID;
+        }
+    }
+}
+<#-- 按字段类型生成JSON值的Java表达式，i为序号 -->
+<#macro jsonValue javaType name><#compress>
+<#switch javaType>
+<#case "String">"\"${name}-" + i + "\""<#break>
+<#case "Long"><#case "Integer"><#case "Double"><#case "Float"><#case "BigDecimal">String.valueOf(i)<#break>
+<#case "Boolean">String.valueOf(i % 2 == 0)<#break>
+<#case "LocalDateTime">"\"" + LocalDateTime.now().withNano(0) + "\""<#break>
+<#case "LocalDate">"\"" + LocalDate.now() + "\""<#break>
+<#case "Date">String.valueOf(System.currentTimeMillis())<#break>
+<#default>"null"
+</#switch>
+</#compress></#macro>
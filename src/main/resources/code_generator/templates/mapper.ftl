@@ -1,8 +1,18 @@
 package ${templateConfig.packageInfo};
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import ${entityPackage}.${entityName};
+import ${voPackage}.${entityName}Vo;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+<#if tableConfig.exportEnabled>
+import org.apache.ibatis.session.ResultHandler;
+</#if>
+
+import java.util.List;
 
 /**
  * @Description: ${entityName}Mapper接口
@@ -11,4 +21,65 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface ${entityName}Mapper extends BaseMapper<${entityName}> {
+
+    /**
+     * 按主键查询VO，只读取VO中的列
+     * @param id 主键ID
+     * @return ${entityName}Vo，不存在时返回 null
+     */
+    ${entityName}Vo selectVoById(@Param("id") Long id);
+
+    /**
+     * 分页查询VO，只读取VO中的列
+     * @param page         分页参数
+     * @param queryWrapper 查询条件，需要自行包含逻辑删除条件
+     * @return 分页结果
+     */
+    IPage<${entityName}Vo> selectVoPage(IPage<${entityName}Vo> page, @Param(Constants.WRAPPER) Wrapper<${entityName}> queryWrapper);
+
+    /**
+     * 查询VO列表，只读取VO中的列
+     * @param queryWrapper 查询条件，需要自行包含逻辑删除条件
+     * @return VO列表
+     */
+    List<${entityName}Vo> selectVoList(@Param(Constants.WRAPPER) Wrapper<${entityName}> queryWrapper);
+<#if tableConfig.exportEnabled>
+
+    /**
+     * 流式查询VO，每读到一行回调一次，结果不在内存中累积
+     * @param queryWrapper  查询条件，需要自行包含逻辑删除条件
+     * @param resultHandler 逐行处理结果
+     */
+    void selectVoStream(@Param(Constants.WRAPPER) Wrapper<${entityName}> queryWrapper, ResultHandler<${entityName}Vo> resultHandler);
+</#if>
+
+    /**
+     * 多行 INSERT ... VALUES (...),(...)，一条SQL写入整批数据
+     * @param list 实体列表，不能为空
+     * @return 影响行数
+     */
+    int insertBatchValues(@Param("list") List<${entityName}> list);
+
+    /**
+     * 多行 INSERT ... ON DUPLICATE KEY UPDATE，主键或唯一键冲突的行改为更新
+     * @param list 实体列表，不能为空
+     * @return 影响行数（MySQL中新增的行计1，更新的行计2）
+     */
+    int upsertBatch(@Param("list") List<${entityName}> list);
+
+    /**
+     * 按主键批量修改，每个字段一个 CASE `id` WHEN ... THEN ... 表达式，一条UPDATE修改整批数据；
+     * 字段值为null的行保留原值<#if tableConfig.useBaseEntity>，version不为空的行校验乐观锁，版本不一致的行不修改，
+     * 调用方需比较影响行数与批次大小<#else>；不做冲突检测，不存在的id被忽略</#if>
+     * @param list 实体列表，不能为空，id不能为空
+     * @return 影响行数
+     */
+    int updateBatchCaseWhen(@Param("list") List<${entityName}> list);
+
+    /**
+     * 按主键批量<#if tableConfig.useBaseEntity>逻辑</#if>删除，一条 <#if tableConfig.useBaseEntity>UPDATE<#else>DELETE</#if> ... WHERE id IN (...) 完成
+     * @param ids 主键ID列表，不能为空
+     * @return 影响行数
+     */
+    int deleteInBatch(@Param("ids") List<Long> ids);
 }
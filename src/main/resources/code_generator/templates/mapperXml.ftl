@@ -1,5 +1,195 @@
 <?xml version="1.0" encoding="UTF-8"?>
 <!DOCTYPE mapper PUBLIC "-//mybatis.org//DTD Mapper 3.0//EN" "http://mybatis.org/dtd/mybatis-3-mapper.dtd">
-<mapper namespace="${templateConfig.packageInfo}.${entityName}Mapper">
+<mapper namespace="${mapperPackage}.${entityName}Mapper">
 
-</mapper>
\ No newline at end of file
+    <!-- 实体完整映射，供手写查询使用 -->
+    <resultMap id="BaseResultMap" type="${entityPackage}.${entityName}">
+        <id column="id" property="id"/>
+<#list tableConfig.columns as column>
+        <result column="${column.dbName}" property="${column.javaName}"/>
+</#list>
+<#if tableConfig.useBaseEntity>
+        <result column="version" property="version"/>
+        <result column="deleted" property="deleted"/>
+        <result column="create_time" property="createTime"/>
+        <result column="created_by" property="createdBy"/>
+        <result column="created_by_name" property="createdByName"/>
+        <result column="updated_time" property="updatedTime"/>
+        <result column="updated_by" property="updatedBy"/>
+        <result column="updated_by_name" property="updatedByName"/>
+</#if>
+    </resultMap>
+
+    <sql id="Base_Column_List">
+        `id`<#list tableConfig.columns as column>, `${column.dbName}`</#list><#if tableConfig.useBaseEntity>, `version`, `deleted`, `create_time`, `created_by`, `created_by_name`, `updated_time`, `updated_by`, `updated_by_name`</#if>
+    </sql>
+
+    <!-- VO映射，列表和详情查询只读取VO中的字段 -->
+    <resultMap id="VoResultMap" type="${voPackage}.${entityName}Vo">
+        <id column="id" property="id"/>
+<#list tableConfig.columns as column>
+        <result column="${column.dbName}" property="${column.javaName}"/>
+</#list>
+<#if tableConfig.useBaseEntity>
+        <result column="version" property="version"/>
+        <result column="create_time" property="createTime"/>
+        <result column="updated_time" property="updatedTime"/>
+</#if>
+    </resultMap>
+
+    <sql id="Vo_Column_List">
+        `id`<#list tableConfig.columns as column>, `${column.dbName}`</#list><#if tableConfig.useBaseEntity>, `version`, `create_time`, `updated_time`</#if>
+    </sql>
+
+<#assign eagerRelations = tableConfig.relations?filter(r -> r.eager)>
+<#assign voResultMap = eagerRelations?has_content?then("VoRelationResultMap", "VoResultMap")>
+<#if eagerRelations?has_content>
+
+    <!-- eager关联：关联表的列带 "关联名__" 前缀，复用关联Mapper的VoResultMap -->
+    <resultMap id="VoRelationResultMap" type="${voPackage}.${entityName}Vo" extends="VoResultMap">
+<#list eagerRelations as relation>
+        <association property="${relation.name}" columnPrefix="${relation.name}__" resultMap="${mapperPackage}.${relation.target}Mapper.VoResultMap"/>
+</#list>
+    </resultMap>
+
+    <sql id="Relation_Column_List">
+        <#list eagerRelations as relation><@relationColumns relation=relation outer=true/><#sep>, </#sep></#list>
+    </sql>
+
+    <!-- 关联表放在派生表中并给列加前缀，Wrapper中不带表名的条件和排序列不会产生歧义；MySQL会把派生表合并到外层，按主键关联 -->
+    <sql id="Relation_Join">
+<#list eagerRelations as relation>
+<#assign target = relation.targetTable>
+        LEFT JOIN (SELECT <@relationColumns relation=relation outer=false/> FROM `${target.tableName}`<#if target.useBaseEntity> WHERE `deleted` = 0</#if>) `${relation.name}`
+            ON `${relation.name}`.`${relation.name}__id` = `${tableName}`.`${relation.foreignKeyDbName}`
+</#list>
+    </sql>
+</#if>
+
+    <select id="selectVoById" resultMap="${voResultMap}">
+        SELECT <#if eagerRelations?has_content><@qualifiedVoColumns/>, <include refid="Relation_Column_List"/><#else><include refid="Vo_Column_List"/></#if>
+        FROM `${tableName}`
+<#if eagerRelations?has_content>
+        <include refid="Relation_Join"/>
+</#if>
+        WHERE `${tableName}`.`id` = ${r"#{id}"}<#if tableConfig.useBaseEntity> AND `${tableName}`.`deleted` = 0</#if>
+    </select>
+
+    <!-- 条件由调用方的Wrapper提供，自定义SQL不会自动追加逻辑删除条件 -->
+    <select id="selectVoPage" resultMap="${voResultMap}">
+        SELECT <#if eagerRelations?has_content><@qualifiedVoColumns/>, <include refid="Relation_Column_List"/><#else><include refid="Vo_Column_List"/></#if>
+        FROM `${tableName}`
+<#if eagerRelations?has_content>
+        <include refid="Relation_Join"/>
+</#if>
+        ${r"${ew.customSqlSegment}"}
+    </select>
+
+    <select id="selectVoList" resultMap="${voResultMap}">
+        SELECT <#if eagerRelations?has_content><@qualifiedVoColumns/>, <include refid="Relation_Column_List"/><#else><include refid="Vo_Column_List"/></#if>
+        FROM `${tableName}`
+<#if eagerRelations?has_content>
+        <include refid="Relation_Join"/>
+</#if>
+        ${r"${ew.customSqlSegment}"}
+    </select>
+<#if tableConfig.exportEnabled>
+
+    <!-- 流式导出：只读游标逐批拉取${tableConfig.exportFetchSize?c}行，每行交给ResultHandler处理 -->
+    <select id="selectVoStream" resultMap="VoResultMap" resultSetType="FORWARD_ONLY" fetchSize="${tableConfig.exportFetchSize?c}">
+        SELECT <include refid="Vo_Column_List"/>
+        FROM `${tableName}`
+        ${r"${ew.customSqlSegment}"}
+    </select>
+</#if>
+
+    <!-- 多行插入的列，id及审计字段由MyBatis-Plus的主键生成和自动填充处理；upsert按id命中主键 -->
+    <sql id="Insert_Column_List">
+        `id`<#if tableConfig.useBaseEntity>, `version`, `deleted`, `create_time`, `created_by`, `created_by_name`</#if><#if tableConfig.columns?has_content>, </#if><#list tableConfig.columns as column>`${column.dbName}`<#sep>, </#sep></#list>
+    </sql>
+
+    <sql id="Insert_Values">
+        (${r"#{item.id}"}<#if tableConfig.useBaseEntity>, ${r"#{item.version}"}, ${r"#{item.deleted}"}, ${r"#{item.createTime}"}, ${r"#{item.createdBy}"}, ${r"#{item.createdByName}"}</#if><#if tableConfig.columns?has_content>, </#if><#list tableConfig.columns as column>${r"#{item."}${column.javaName}}<#sep>, </#sep></#list>)
+    </sql>
+
+    <insert id="insertBatchValues">
+        INSERT INTO `${tableName}` (<include refid="Insert_Column_List"/>)
+        VALUES
+        <foreach collection="list" item="item" separator=",">
+            <include refid="Insert_Values"/>
+        </foreach>
+    </insert>
+
+    <insert id="upsertBatch">
+        INSERT INTO `${tableName}` (<include refid="Insert_Column_List"/>)
+        VALUES
+        <foreach collection="list" item="item" separator=",">
+            <include refid="Insert_Values"/>
+        </foreach>
+        ON DUPLICATE KEY UPDATE
+<#list tableConfig.columns as column>
+        `${column.dbName}` = VALUES(`${column.dbName}`)<#if column?has_next || tableConfig.useBaseEntity>,</#if>
+</#list>
+<#if tableConfig.useBaseEntity>
+        `version` = `version` + 1,
+        `updated_time` = NOW()
+</#if>
+    </insert>
+
+    <!-- 批量修改：每个字段一个CASE表达式，只有值不为null的行出现在WHEN中，其余行保留原值；整批都为null的字段不出现在SET中 -->
+    <update id="updateBatchCaseWhen">
+        UPDATE `${tableName}`
+        <trim prefix="SET" suffixOverrides=",">
+<#if !tableConfig.useBaseEntity>
+            <#-- 整批字段都为null时SET不能为空，id = id 不修改任何数据 -->
+            `id` = `id`,
+</#if>
+<#list tableConfig.columns as column>
+            <trim prefix="`${column.dbName}` = CASE `id`" suffix="ELSE `${column.dbName}` END,">
+                <foreach collection="list" item="item">
+                    <if test="item.${column.javaName} != null">WHEN ${r"#{item.id}"} THEN ${r"#{item."}${column.javaName}}</if>
+                </foreach>
+            </trim>
+</#list>
+<#if tableConfig.useBaseEntity>
+            `version` = `version` + 1,
+            `updated_time` = NOW(),
+</#if>
+        </trim>
+<#if tableConfig.useBaseEntity>
+        WHERE `deleted` = 0 AND
+        <foreach collection="list" item="item" open="(" separator=" OR " close=")">
+            (`id` = ${r"#{item.id}"}<if test="item.version != null"> AND `version` = ${r"#{item.version}"}</if>)
+        </foreach>
+<#else>
+        WHERE `id` IN
+        <foreach collection="list" item="item" open="(" separator="," close=")">${r"#{item.id}"}</foreach>
+</#if>
+    </update>
+
+<#if tableConfig.useBaseEntity>
+    <!-- 批量逻辑删除：一条UPDATE，已删除的行不再修改 -->
+    <update id="deleteInBatch">
+        UPDATE `${tableName}` SET `deleted` = 1, `updated_time` = NOW()
+        WHERE `deleted` = 0 AND `id` IN
+        <foreach collection="ids" item="id" open="(" separator="," close=")">${r"#{id}"}</foreach>
+    </update>
+<#else>
+    <delete id="deleteInBatch">
+        DELETE FROM `${tableName}`
+        WHERE `id` IN
+        <foreach collection="ids" item="id" open="(" separator="," close=")">${r"#{id}"}</foreach>
+    </delete>
+</#if>
+
+</mapper>
+<#-- 关联表VO的列：派生表内把列重命名为 "关联名__列名"，外层查询按重命名后的列读取 -->
+<#macro relationColumns relation outer><#compress>
+<#local target = relation.targetTable>
+<#local names = ["id"] + target.columns?map(c -> c.dbName) + target.useBaseEntity?then(["version", "create_time", "updated_time"], [])>
+<#list names as name><#if outer>`${relation.name}`.`${relation.name}__${name}`<#else>`${name}` AS `${relation.name}__${name}`</#if><#sep>, </#sep></#list>
+</#compress></#macro>
+<#-- 带表名的VO列，JOIN时使用 -->
+<#macro qualifiedVoColumns><#compress>
+`${tableName}`.`id`<#list tableConfig.columns as column>, `${tableName}`.`${column.dbName}`</#list><#if tableConfig.useBaseEntity>, `${tableName}`.`version`, `${tableName}`.`create_time`, `${tableName}`.`updated_time`</#if>
+</#compress></#macro>
@@ -0,0 +1,32 @@
+package ${templateConfig.packageInfo};
+
+import ${interceptorPackage}.SqlMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @Description: Micrometer指标配置。MyBatis-Plus会把容器中的Interceptor自动注册到SqlSessionFactory；
+ * HikariCP连接池指标（hikaricp.*）由Spring Boot自动绑定，@Timed由 management.observations.annotations.enabled 开启
+ * @Author: Code Generator By Shawn Wang
+ * @Date: ${.now?string["yyyy-MM-dd HH:mm:ss"]}
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public SqlMetricsInterceptor sqlMetricsInterceptor(MeterRegistry meterRegistry,
+                                                       @Value("${r"${app.metrics.slow-query-threshold-ms:500}"}") long slowQueryThresholdMs) {
+        return new SqlMetricsInterceptor(meterRegistry, slowQueryThresholdMs);
+    }
+
+    /**
+     * 所有指标加上application标签，便于多个服务共用同一个监控后端
+     */
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> commonTags() {
+        return registry -> registry.config().commonTags("application", "${moduleName}");
+    }
+}
@@ -0,0 +1,83 @@
+package ${templateConfig.packageInfo};
+
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.mybatis.spring.mapper.MapperScannerConfigurer;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.ResolvableType;
+
+/**
+ * @Description: MyBatis Mapper的Spring AOT支持（process-aot构建期生成Bean定义，运行时 -Dspring.aot.enabled=true 或native-image）
+ * mybatis-plus的starter没有处理AOT：构建期需要把Mapper接口写进MapperFactoryBean的构造参数和泛型类型，
+ * 运行时Mapper定义已经由AOT生成，MapperScannerConfigurer不能再扫描一次，否则与已有的同名定义冲突
+ * @Author: Code Generator By Shawn Wang
+ * @Date: ${.now?string["yyyy-MM-dd HH:mm:ss"]}
+ */
+@Configuration(proxyBeanMethods = false)
+public class MybatisAotConfig {
+
+    /**
+     * 返回具体类型，Spring按Bean定义的类型判断PriorityOrdered
+     */
+    @Bean
+    public static MapperScannerAotFilter mapperScannerAotFilter() {
+        return new MapperScannerAotFilter();
+    }
+
+    @Bean
+    public static MapperFactoryBeanTypeResolver mapperFactoryBeanTypeResolver() {
+        return new MapperFactoryBeanTypeResolver();
+    }
+
+    /**
+     * PriorityOrdered的后置处理器先于MapperScannerConfigurer创建和执行，在此之前移除其Bean定义
+     */
+    static class MapperScannerAotFilter implements BeanDefinitionRegistryPostProcessor, PriorityOrdered {
+
+        @Override
+        public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+            if (!AotDetector.useGeneratedArtifacts()) {
+                return;
+            }
+            for (String beanName : registry.getBeanDefinitionNames()) {
+                if (MapperScannerConfigurer.class.getName().equals(registry.getBeanDefinition(beanName).getBeanClassName())) {
+                    registry.removeBeanDefinition(beanName);
+                }
+            }
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+
+    /**
+     * 扫描得到的MapperFactoryBean定义只有字符串形式的接口名，AOT生成代码时无法确定构造参数和FactoryBean的产品类型，
+     * 这里改为Mapper接口的Class，并设置 MapperFactoryBean&lt;XxxMapper&gt; 目标类型
+     */
+    static class MapperFactoryBeanTypeResolver implements MergedBeanDefinitionPostProcessor {
+
+        @Override
+        public void postProcessMergedBeanDefinition(RootBeanDefinition beanDefinition, Class<?> beanType, String beanName) {
+            if (!beanDefinition.hasBeanClass() || !MapperFactoryBean.class.isAssignableFrom(beanDefinition.getBeanClass())
+                    || !beanDefinition.getResolvableType().hasUnresolvableGenerics()) {
+                return;
+            }
+            if (beanDefinition.getPropertyValues().get("mapperInterface") instanceof Class<?> mapperInterface) {
+                ConstructorArgumentValues constructorArgumentValues = new ConstructorArgumentValues();
+                constructorArgumentValues.addGenericArgumentValue(mapperInterface);
+                beanDefinition.setConstructorArgumentValues(constructorArgumentValues);
+                beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(beanDefinition.getBeanClass(), mapperInterface));
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ${templateConfig.packageInfo};
+
+<#if tableConfig.useBaseEntity>
+import ${basePackage}.BaseEntity;
+</#if>
+import ${dtoPackage}.${entityName}AddDto;
+import ${dtoPackage}.${entityName}QueryDto;
+import ${dtoPackage}.${entityName}UpdateDto;
+<#if tableConfig.keysetPagination>
+import ${dtoPackage}.CursorPageQueryDto;
+import ${dtoPackage}.CursorPageResultVO;
+<#else>
+import ${dtoPackage}.BasePageQueryDto;
+import ${dtoPackage}.PageResultVO;
+</#if>
+import ${entityPackage}.${entityName};
+import ${mapperPackage}.${entityName}Mapper;
+import ${serviceImplPackage}.${entityName}ServiceImpl;
+import ${voPackage}.${entityName}Vo;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.lang.invoke.SerializedLambda;
+
+/**
+ * @Description: ${entityName}的native-image可达性元数据，AOT处理时写入reflect-config、proxy-config和resource-config
+ * @Author: Code Generator By Shawn Wang
+ * @Date: ${.now?string["yyyy-MM-dd HH:mm:ss"]}
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(${entityName}RuntimeHints.Registrar.class)
+// DTO、VO由Jackson按属性读写，按绑定方式注册getter/setter和构造方法
+@RegisterReflectionForBinding({${entityName}AddDto.class, ${entityName}UpdateDto.class, ${entityName}QueryDto.class,
+        ${entityName}Vo.class, <#if tableConfig.keysetPagination>CursorPageQueryDto.class, CursorPageResultVO.class<#else>BasePageQueryDto.class, PageResultVO.class</#if>})
+public class ${entityName}RuntimeHints {
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // MyBatis通过反射创建实体并按字段名赋值，MyBatis-Plus按字段解析TableInfo
+            MemberCategory[] entityMembers = {MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS};
+            hints.reflection().registerType(${entityName}.class, entityMembers);
+<#if tableConfig.useBaseEntity>
+            hints.reflection().registerType(BaseEntity.class, entityMembers);
+</#if>
+            // Mapper接口在运行时由MyBatis生成JDK动态代理，对应的XML按classpath路径加载
+            hints.proxies().registerJdkProxy(${entityName}Mapper.class);
+            hints.reflection().registerType(${entityName}Mapper.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.resources().registerPattern("mapper/${entityName}Mapper.xml");
+            // Lambda条件构造器（${entityName}::getXxx）通过SerializedLambda解析字段名
+            hints.reflection().registerType(SerializedLambda.class, MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+            hints.serialization().registerType(SerializedLambda.class);
+            hints.serialization().registerType(SFunction.class);
+            hints.serialization().registerType(TypeReference.of(${entityName}ServiceImpl.class));
+        }
+    }
+}
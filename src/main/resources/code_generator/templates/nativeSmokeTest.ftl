@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# ${moduleName} native-image冒烟测试
+# 构建native可执行文件，以prod配置启动，检查启动耗时（日志中的 "Started ... in x seconds"）和启动完成后的常驻内存（RSS），
+# 超过阈值时以非0退出，可以直接放到CI中。
+# 用法：./native-smoke-test.sh，阈值通过环境变量 MAX_STARTUP_MS（默认1000）和 MAX_RSS_MB（默认256）调整，
+# SKIP_BUILD=true 时跳过构建直接测试已有的 target/${artifactId}；RSS从 /proc 读取，需要在Linux上运行
+BINARY=target/${artifactId}
+<#noparse>
+set -euo pipefail
+
+MAX_STARTUP_MS=${MAX_STARTUP_MS:-1000}
+MAX_RSS_MB=${MAX_RSS_MB:-256}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-30}
+LOG_FILE=target/native-smoke-test.log
+
+if [ "${SKIP_BUILD:-false}" != "true" ]; then
+  mvn -q -DskipTests package native:compile-no-fork
+fi
+if [ ! -x "$BINARY" ]; then
+  echo "Native executable $BINARY not found." >&2
+  exit 1
+fi
+
+"$BINARY" --spring.profiles.active=prod --server.port=0 > "$LOG_FILE" 2>&1 &
+PID=$!
+trap 'kill "$PID" 2>/dev/null || true' EXIT
+
+STARTED=""
+for _ in $(seq $((TIMEOUT_SECONDS * 10))); do
+  STARTED=$(grep -oE 'Started .* in [0-9.]+ seconds' "$LOG_FILE" || true)
+  if [ -n "$STARTED" ] || ! kill -0 "$PID" 2>/dev/null; then
+    break
+  fi
+  sleep 0.1
+done
+if [ -z "$STARTED" ]; then
+  echo "Application did not start within ${TIMEOUT_SECONDS}s, see $LOG_FILE" >&2
+  exit 1
+fi
+
+STARTUP_MS=$(echo "$STARTED" | sed -E 's/.* in ([0-9.]+) seconds/\1/' | awk '{ printf "%d", $1 * 1000 }')
+RSS_MB=$(awk '/VmRSS/ { printf "%d", $2 / 1024 }' "/proc/$PID/status")
+
+echo "Startup: ${STARTUP_MS} ms (max ${MAX_STARTUP_MS} ms)"
+echo "RSS:     ${RSS_MB} MB (max ${MAX_RSS_MB} MB)"
+
+FAILED=0
+if [ "$STARTUP_MS" -gt "$MAX_STARTUP_MS" ]; then
+  echo "FAIL: startup time exceeds ${MAX_STARTUP_MS} ms" >&2
+  FAILED=1
+fi
+if [ "$RSS_MB" -gt "$MAX_RSS_MB" ]; then
+  echo "FAIL: RSS exceeds ${MAX_RSS_MB} MB" >&2
+  FAILED=1
+fi
+exit $FAILED
+</#noparse>
@@ -3,9 +3,11 @@ package ${templateConfig.packageInfo};
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 import lombok.experimental.Accessors;
+import org.springframework.format.annotation.DateTimeFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * @Description: ${entityName}查询DTO
@@ -15,13 +17,61 @@ import java.math.BigDecimal;
 @Data
 @Accessors(chain = true)
 @Schema(description = "${entityName}查询DTO")
-public class ${entityName}QueryDto  extends BasePageQueryDto {
+public class ${entityName}QueryDto  extends <#if tableConfig.keysetPagination>CursorPageQueryDto<#else>BasePageQueryDto</#if> {
 
 <#list tableConfig.columns as column>
+    <#switch column.resolveSearchMode()>
+    <#case "prefix">
+    /**
+     * ${column.comment}，前缀匹配
+     */
+    @Schema(description = "${column.comment}（前缀匹配）")
+    private ${column.javaType} ${column.javaName};
+        <#break>
+    <#case "range">
+    /**
+     * ${column.comment}，范围下限（包含）
+     */
+    @Schema(description = "${column.comment}（范围下限，包含）")
+    <@dateFormat column.javaType/>
+    private ${column.javaType} ${column.javaName}From;
+    /**
+     * ${column.comment}，范围上限（包含）
+     */
+    @Schema(description = "${column.comment}（范围上限，包含）")
+    <@dateFormat column.javaType/>
+    private ${column.javaType} ${column.javaName}To;
+        <#break>
+    <#case "in">
+    /**
+     * ${column.comment}，匹配列表中任意一个值
+     */
+    @Schema(description = "${column.comment}（匹配任意一个值）")
+    private List<${column.javaType}> ${column.javaName}List;
+        <#break>
+    <#case "fulltext">
+    /**
+     * ${column.comment}，全文检索
+     */
+    @Schema(description = "${column.comment}（全文检索）")
+    private ${column.javaType} ${column.javaName};
+        <#break>
+    <#case "exact">
     /**
      * ${column.comment}
      */
     @Schema(description = "${column.comment}"<#-- You can add example here, e.g., , example = "示例值" -->)
+    <@dateFormat column.javaType/>
     private ${column.javaType} ${column.javaName};
+        <#break>
+    </#switch>
 </#list>
 }
+<#-- 查询参数来自URL，日期类型按ISO格式解析 -->
+<#macro dateFormat javaType>
+<#if javaType == "LocalDateTime">
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+<#elseif javaType == "LocalDate">
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+</#if>
+</#macro>
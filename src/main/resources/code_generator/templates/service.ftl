@@ -4,9 +4,24 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import ${dtoPackage}.${entityName}AddDto;
 import ${dtoPackage}.${entityName}QueryDto;
 import ${dtoPackage}.${entityName}UpdateDto;
+<#if tableConfig.exportEnabled>
+import ${dtoPackage}.ExportFormat;
+</#if>
+<#if tableConfig.keysetPagination>
+import ${dtoPackage}.CursorPageResultVO;
+<#else>
+import ${dtoPackage}.PageResultVO;
+</#if>
 import ${voPackage}.${entityName}Vo;
 import ${entityPackage}.${entityName};
 
+<#if tableConfig.exportEnabled>
+import java.io.IOException;
+import java.io.OutputStream;
+</#if>
+<#if tableConfig.cacheEnabled>
+import java.util.Collection;
+</#if>
 import java.util.List;
 
 /**
@@ -28,28 +43,91 @@ public interface I${entityName}Service extends IService<${entityName}> {
      */
     void update${entityName}(${entityName}UpdateDto ${entityName?uncap_first}Dto);
 
+    /**
+     * 批量新增${entityName}，按批提交（JDBC batch）
+     * @param ${entityName?uncap_first}Dtos 新增DTO列表
+     */
+    void add${entityName}Batch(List<${entityName}AddDto> ${entityName?uncap_first}Dtos);
+
+    /**
+     * 批量导入${entityName}，每批拼成一条多行INSERT语句
+     * @param ${entityName?uncap_first}Dtos 新增DTO列表
+     */
+    void import${entityName}s(List<${entityName}AddDto> ${entityName?uncap_first}Dtos);
+
+    /**
+     * 按主键批量修改${entityName}，每批拼成一条 CASE WHEN 的UPDATE语句，值为null的字段不修改
+<#if tableConfig.useBaseEntity>
+     * 有行因version不一致、已删除或不存在而未修改时抛出 OptimisticLockingFailureException，整批回滚
+<#else>
+     * 不做冲突检测，不存在的id被忽略
+</#if>
+     * @param ${entityName?uncap_first}Dtos 修改DTO列表
+     */
+    void update${entityName}Batch(List<${entityName}UpdateDto> ${entityName?uncap_first}Dtos);
+
+    /**
+     * 批量新增或修改${entityName}：主键或唯一键已存在的行改为更新（INSERT ... ON DUPLICATE KEY UPDATE）
+     * @param ${entityName?uncap_first}Dtos 修改DTO列表，id为空的行作为新增
+     */
+    void upsert${entityName}Batch(List<${entityName}UpdateDto> ${entityName?uncap_first}Dtos);
+
     /**
      * 删除${entityName}
      * @param id 主键ID
      */
     void delete${entityName}(Long id);
 
+    /**
+     * 按ID批量删除${entityName}，每批一条SQL
+     * @param ids 主键ID列表
+     */
+    void delete${entityName}Batch(List<Long> ids);
+
     /**
      * 根据ID获取${entityName}详情
      * @param id 主键ID
      * @return ${entityName}VO
      */
     ${entityName}Vo get${entityName}ById(Long id);
+<#if tableConfig.cacheEnabled>
+
+    /**
+     * 根据ID批量获取${entityName}，优先读缓存，未命中的ID合并为一次查询
+     * @param ids 主键ID集合
+     * @return ${entityName}VO列表，按传入ID顺序，不存在的ID跳过
+     */
+    List<${entityName}Vo> get${entityName}ByIds(Collection<Long> ids);
+</#if>
+
+<#if tableConfig.keysetPagination>
+    /**
+     * 游标分页查询${entityName}列表，翻页耗时与页码深度无关
+     * @param queryDto 查询DTO，包含游标和每页大小
+     * @return ${entityName}VO游标分页结果
+     */
+    CursorPageResultVO<${entityName}Vo> list${entityName}s(${entityName}QueryDto queryDto);
+<#else>
+    /**
+     * 分页查询${entityName}列表
+     * @param queryDto 查询DTO，包含分页参数
+     * @return ${entityName}VO分页结果
+     */
+    PageResultVO<${entityName}Vo> list${entityName}s(${entityName}QueryDto queryDto);
+</#if>
+<#if tableConfig.exportEnabled>
 
     /**
-     * 查询${entityName}列表
-     * @param queryDto 查询DTO
-     * @return ${entityName}VO列表
+     * 按查询条件流式导出${entityName}，逐行写入输出流，内存占用与导出行数无关
+     * @param queryDto     查询DTO，分页参数不生效
+     * @param format       导出格式
+     * @param outputStream 输出流，方法结束时已flush，不负责关闭
      */
-    List<${entityName}Vo> list${entityName}s(${entityName}QueryDto queryDto);
+    void export${entityName}s(${entityName}QueryDto queryDto, ExportFormat format, OutputStream outputStream) throws IOException;
+</#if>
 
     /**
-     * 修改${entityName}，不使用乐观锁
+     * 修改${entityName}，不使用乐观锁，只修改DTO中不为null的字段
      * @param ${entityName?uncap_first}Dto 修改DTO
      */
     void update${entityName}NoVersion(${entityName}UpdateDto ${entityName?uncap_first}Dto);
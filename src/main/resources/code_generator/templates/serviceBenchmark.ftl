@@ -0,0 +1,172 @@
+package ${templateConfig.packageInfo};
+
+import ${projectPackage}.${moduleName}Application;
+import ${converterPackage}.${entityName}Converter;
+import ${dtoPackage}.${entityName}AddDto;
+import ${dtoPackage}.${entityName}QueryDto;
+import ${entityPackage}.${entityName};
+import ${servicePackage}.I${entityName}Service;
+import ${voPackage}.${entityName}Vo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Description: ${entityName} Service和转换器的JMH基准，使用内存H2数据库（MySQL兼容模式），不需要外部数据库。
+ * 运行全部实体的基准：mvn test-compile exec:exec@jmh；只运行本实体时直接执行main方法。
+ * 结果中 thrpt 为吞吐量（ops/ms），sample 为每次调用耗时的分布（含p0.50、p0.99）
+ * @Author: Code Generator By Shawn Wang
+ * @Date: ${.now?string["yyyy-MM-dd HH:mm:ss"]}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ${entityName}ServiceBenchmark {
+
+    /**
+     * 基准开始前预先写入的行数
+     */
+    private static final int SEED_ROWS = 1000;
+
+    /**
+     * 本表及关联表的建表语句，关联查询需要关联表存在
+     */
+    private static final List<String> CREATE_TABLE_SQLS = List.of(
+<#assign benchmarkTables = [tableConfig]>
+<#list tableConfig.relations as relation>
+<#if !benchmarkTables?map(t -> t.entityName)?seq_contains(relation.target)>
+<#assign benchmarkTables = benchmarkTables + [relation.targetTable]>
+</#if>
+</#list>
+<#list benchmarkTables as table>
+            "CREATE TABLE `${table.tableName}` ("
+            + "`id` BIGINT NOT NULL AUTO_INCREMENT, "
+<#list table.columns as column>
+            + "`${column.dbName}` ${typeMapping[column.javaType]!"VARCHAR(255)"}, "
+</#list>
+<#if table.useBaseEntity>
+            + "`created_by` BIGINT, `created_by_name` VARCHAR(255), `create_time` DATETIME, "
+            + "`updated_by` BIGINT, `updated_by_name` VARCHAR(255), `updated_time` DATETIME, "
+            + "`deleted` TINYINT(1) DEFAULT 0, `version` INT DEFAULT 1, "
+</#if>
+            + "PRIMARY KEY (`id`))"<#sep>,</#sep>
+</#list>
+    );
+
+    private final AtomicInteger sequence = new AtomicInteger(SEED_ROWS);
+
+    private ConfigurableApplicationContext context;
+    private I${entityName}Service ${entityName?uncap_first}Service;
+    private List<Long> ids;
+    private ${entityName}AddDto addDto;
+    private ${entityName} entity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 命令行参数的优先级高于application.yml，数据源换成内存H2，关闭SQL日志，端口随机
+        context = new SpringApplicationBuilder(${moduleName}Application.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:${tableName}_benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--mybatis-plus.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+                "--spring.main.lazy-initialization=false",
+                "--server.port=0",
+                "--logging.level.root=warn");
+        CREATE_TABLE_SQLS.forEach(context.getBean(JdbcTemplate.class)::execute);
+        ${entityName?uncap_first}Service = context.getBean(I${entityName}Service.class);
+
+        List<${entityName}AddDto> seed = new ArrayList<>(SEED_ROWS);
+        for (int i = 0; i < SEED_ROWS; i++) {
+            seed.add(sampleAddDto(i));
+        }
+        ${entityName?uncap_first}Service.add${entityName}Batch(seed);
+        ids = ${entityName?uncap_first}Service.list().stream().map(${entityName}::getId).toList();
+
+        addDto = sampleAddDto(0);
+        entity = ${entityName}Converter.toEntity(addDto);
+        entity.setId(ids.get(0));
+<#if tableConfig.useBaseEntity>
+        entity.setVersion(0);
+        entity.setCreateTime(LocalDateTime.now());
+</#if>
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ${entityName}Vo getById() {
+        return ${entityName?uncap_first}Service.get${entityName}ById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    @Benchmark
+    public Object listFirstPage() {
+        return ${entityName?uncap_first}Service.list${entityName}s(new ${entityName}QueryDto());
+    }
+
+    @Benchmark
+    public void add() {
+        ${entityName?uncap_first}Service.add${entityName}(sampleAddDto(sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    public ${entityName}Vo converterToVo() {
+        return ${entityName}Converter.toVo(entity);
+    }
+
+    @Benchmark
+    public ${entityName} converterToEntity() {
+        return ${entityName}Converter.toEntity(addDto);
+    }
+
+    /**
+     * 按序号生成一条新增数据，字符串字段带序号，避免所有行相同
+     */
+    private static ${entityName}AddDto sampleAddDto(int i) {
+        ${entityName}AddDto dto = new ${entityName}AddDto();
+<#list tableConfig.columns as column>
+        dto.set${column.javaName?cap_first}(<@sampleValue javaType=column.javaType name=column.javaName/>);
+</#list>
+        return dto;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(${entityName}ServiceBenchmark.class.getName()).build()).run();
+    }
+}
+<#-- 按字段类型生成示例值，i为序号 -->
+<#macro sampleValue javaType name><#compress>
+<#switch javaType>
+<#case "String">"${name}-" + i<#break>
+<#case "Long">(long) i<#break>
+<#case "Integer">i<#break>
+<#case "Double">(double) i<#break>
+<#case "Float">(float) i<#break>
+<#case "Boolean">i % 2 == 0<#break>
+<#case "BigDecimal">BigDecimal.valueOf(i)<#break>
+<#case "LocalDateTime">LocalDateTime.now()<#break>
+<#case "LocalDate">LocalDate.now()<#break>
+<#case "Date">new Date()<#break>
+<#default>null
+</#switch>
+</#compress></#macro>
@@ -1,21 +1,112 @@
+<#assign keysetColumn = tableConfig.resolveKeysetColumn()!"">
+<#-- keyset分页的排序字段在VO中时直接查询VO投影，否则查询实体再转换 -->
+<#assign voFields = ["id"] + tableConfig.columns?map(c -> c.javaName) + tableConfig.useBaseEntity?then(["version", "createTime", "updatedTime"], [])>
+<#assign rowType = (!keysetColumn?has_content || voFields?seq_contains(keysetColumn.javaName))?then(entityName + "Vo", entityName)>
+<#-- lazy关联由loadRelations按页批量加载；实体行的keyset分页不走VO的JOIN查询，eager关联也需要批量加载 -->
+<#assign lazyRelations = tableConfig.relations?filter(r -> !r.eager)>
+<#assign joinFallbackRelations = (tableConfig.keysetPagination && rowType == entityName)?then(tableConfig.relations?filter(r -> r.eager), [])>
+<#assign relationTargets = []>
+<#list lazyRelations + joinFallbackRelations as relation>
+    <#if !relationTargets?seq_contains(relation.target)>
+        <#assign relationTargets = relationTargets + [relation.target]>
+    </#if>
+</#list>
+<#assign hasToOneLoader = (lazyRelations + joinFallbackRelations)?filter(r -> r.manyToOne)?has_content>
+<#assign hasToManyLoader = (lazyRelations + joinFallbackRelations)?filter(r -> !r.manyToOne)?has_content>
+<#assign injectsFields = tableConfig.cacheEnabled || tableConfig.exportEnabled || relationTargets?has_content>
 package ${templateConfig.packageInfo};
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
-import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+<#if !tableConfig.keysetPagination>
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+</#if>import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import ${converterPackage}.${entityName}Converter;
 import ${dtoPackage}.${entityName}AddDto;
 import ${dtoPackage}.${entityName}QueryDto;
 import ${dtoPackage}.${entityName}UpdateDto;
+<#if tableConfig.exportEnabled>
+import ${dtoPackage}.ExportFormat;
+</#if>
+<#if tableConfig.keysetPagination>
+import ${dtoPackage}.CursorPageResultVO;
+<#else>
+import ${dtoPackage}.PageResultVO;
+</#if>
 import ${voPackage}.${entityName}Vo;
 import ${entityPackage}.${entityName};
 import ${mapperPackage}.${entityName}Mapper;
+<#list relationTargets as target>
+<#if target != entityName>
+import ${voPackage}.${target}Vo;
+import ${entityPackage}.${target};
+import ${mapperPackage}.${target}Mapper;
+</#if>
+</#list>
 import ${servicePackage}.I${entityName}Service;
-import org.springframework.beans.BeanUtils;
+<#if tableConfig.exportEnabled>
+import com.fasterxml.jackson.databind.ObjectMapper;
+</#if>
+<#if metrics.enabled>
+import io.micrometer.core.annotation.Timed;
+</#if>
+<#if injectsFields>
+import lombok.RequiredArgsConstructor;
+</#if>
+<#assign dependentCaches = tableConfig.dependentCacheNames>
+<#if tableConfig.cacheEnabled>
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+</#if>
+<#if tableConfig.cacheEnabled || dependentCaches?has_content>
+import org.springframework.cache.annotation.CacheEvict;
+</#if>
+<#if tableConfig.cacheEnabled>
+import org.springframework.cache.annotation.Cacheable;
+</#if>
+<#if tableConfig.cacheEnabled && dependentCaches?has_content>
+import org.springframework.cache.annotation.Caching;
+</#if>
+<#if tableConfig.useBaseEntity>
+import org.springframework.dao.OptimisticLockingFailureException;
+</#if>
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.util.List;
+<#if tableConfig.exportEnabled>
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+</#if>
+<#if tableConfig.cacheEnabled || hasToManyLoader>
+import java.util.ArrayList;
+</#if>
+<#if tableConfig.cacheEnabled>
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+</#if>
+<#if tableConfig.cacheEnabled || relationTargets?has_content>
+import java.util.Map;
+</#if>
+<#if hasToOneLoader>
+import java.util.Objects;
+</#if>
+<#if tableConfig.cacheEnabled || relationTargets?has_content>
+import java.util.Set;
+</#if>
+<#if hasToOneLoader>
+import java.util.function.Function;
+</#if>
+<#if relationTargets?has_content>
 import java.util.stream.Collectors;
+</#if>
+import java.util.List;
 
 /**
  * @Description: ${entityName}Service实现类
@@ -23,74 +114,435 @@ import java.util.stream.Collectors;
  * @Date: ${.now?string["yyyy-MM-dd HH:mm:ss"]}
  */
 @Service
+<#if injectsFields>
+@RequiredArgsConstructor
+</#if>
+<#if metrics.enabled>
+@Timed(value = "crud.service", extraTags = {"entity", "${entityName}"}, histogram = true)
+</#if>
 public class ${entityName}ServiceImpl extends ServiceImpl<${entityName}Mapper, ${entityName}> implements I${entityName}Service {
 
+    /**
+     * 批量操作每批提交的行数
+     */
+    private static final int BATCH_SIZE = ${tableConfig.batchSize?c};
+<#if tableConfig.cacheEnabled>
+
+    /**
+     * 按id缓存${entityName}Vo的缓存名，规格见 application.yml 的 app.cache.specs
+     */
+    private static final String CACHE_NAME = "${tableConfig.tableName}";
+
+    private final CacheManager cacheManager;
+</#if>
+<#if tableConfig.exportEnabled>
+
+    private final ObjectMapper objectMapper;
+</#if>
+<#if relationTargets?has_content>
+
+<#list relationTargets as target>
+    private final ${target}Mapper ${target?uncap_first}Mapper;
+</#list>
+</#if>
+
     @Override
+    <@cacheEvict/>
     public void add${entityName}(${entityName}AddDto ${entityName?uncap_first}Dto) {
-        ${entityName} ${entityName?uncap_first} = new ${entityName}();
-        BeanUtils.copyProperties(${entityName?uncap_first}Dto, ${entityName?uncap_first});
+        ${entityName} ${entityName?uncap_first} = ${entityName}Converter.toEntity(${entityName?uncap_first}Dto);
         this.save(${entityName?uncap_first});
     }
 
     @Override
+    <@cacheEvict key="#p0.id"/>
     public void update${entityName}(${entityName}UpdateDto ${entityName?uncap_first}Dto) {
-        ${entityName} ${entityName?uncap_first} = new ${entityName}();
-        BeanUtils.copyProperties(${entityName?uncap_first}Dto, ${entityName?uncap_first});
+        ${entityName} ${entityName?uncap_first} = ${entityName}Converter.toEntity(${entityName?uncap_first}Dto);
         this.updateById(${entityName?uncap_first});
     }
 
     @Override
+    <@cacheEvict/>
+    public void add${entityName}Batch(List<${entityName}AddDto> ${entityName?uncap_first}Dtos) {
+        if (${entityName?uncap_first}Dtos == null || ${entityName?uncap_first}Dtos.isEmpty()) {
+            return;
+        }
+        this.saveBatch(${entityName}Converter.toEntityList(${entityName?uncap_first}Dtos), BATCH_SIZE);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    <@cacheEvict/>
+    public void import${entityName}s(List<${entityName}AddDto> ${entityName?uncap_first}Dtos) {
+        if (${entityName?uncap_first}Dtos == null || ${entityName?uncap_first}Dtos.isEmpty()) {
+            return;
+        }
+        List<${entityName}> entities = ${entityName}Converter.toEntityList(${entityName?uncap_first}Dtos);
+        for (int from = 0; from < entities.size(); from += BATCH_SIZE) {
+            this.baseMapper.insertBatchValues(entities.subList(from, Math.min(from + BATCH_SIZE, entities.size())));
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    <@cacheEvict allEntries=true/>
+    public void update${entityName}Batch(List<${entityName}UpdateDto> ${entityName?uncap_first}Dtos) {
+        if (${entityName?uncap_first}Dtos == null || ${entityName?uncap_first}Dtos.isEmpty()) {
+            return;
+        }
+        List<${entityName}> entities = ${entityName}Converter.toUpdateEntityList(${entityName?uncap_first}Dtos);
+        for (int from = 0; from < entities.size(); from += BATCH_SIZE) {
+<#if tableConfig.useBaseEntity>
+            List<${entityName}> chunk = entities.subList(from, Math.min(from + BATCH_SIZE, entities.size()));
+            int updated = this.baseMapper.updateBatchCaseWhen(chunk);
+            // version不一致、已删除或不存在的行被WHERE条件过滤，整批回滚，不能静默丢失修改
+            long expected = chunk.stream().map(${entityName}::getId).distinct().count();
+            if (updated < expected) {
+                throw new OptimisticLockingFailureException("Batch update of ${entityName} matched " + updated
+                        + " of " + expected + " rows, some rows were modified, deleted or do not exist");
+            }
+<#else>
+            this.baseMapper.updateBatchCaseWhen(entities.subList(from, Math.min(from + BATCH_SIZE, entities.size())));
+</#if>
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    <@cacheEvict allEntries=true/>
+    public void upsert${entityName}Batch(List<${entityName}UpdateDto> ${entityName?uncap_first}Dtos) {
+        if (${entityName?uncap_first}Dtos == null || ${entityName?uncap_first}Dtos.isEmpty()) {
+            return;
+        }
+        List<${entityName}> entities = ${entityName}Converter.toUpdateEntityList(${entityName?uncap_first}Dtos);
+        for (int from = 0; from < entities.size(); from += BATCH_SIZE) {
+            this.baseMapper.upsertBatch(entities.subList(from, Math.min(from + BATCH_SIZE, entities.size())));
+        }
+    }
+
+    @Override
+    <@cacheEvict key="#p0"/>
     public void delete${entityName}(Long id) {
         this.removeById(id);
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
+    <@cacheEvict allEntries=true/>
+    public void delete${entityName}Batch(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            this.baseMapper.deleteInBatch(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())));
+        }
+    }
+
+    @Override
+<#if tableConfig.cacheEnabled>
+    @Cacheable(cacheNames = CACHE_NAME, key = "#p0", unless = "#result == null")
+</#if>
     public ${entityName}Vo get${entityName}ById(Long id) {
-        ${entityName} ${entityName?uncap_first} = this.getById(id);
-        if (${entityName?uncap_first} == null) {
-            return null;
+<#if lazyRelations?has_content>
+        ${entityName}Vo vo = this.baseMapper.selectVoById(id);
+        if (vo != null) {
+            loadRelations(List.of(vo));
+        }
+        return vo;
+<#else>
+        return this.baseMapper.selectVoById(id);
+</#if>
+    }
+<#if tableConfig.cacheEnabled>
+
+    @Override
+    public List<${entityName}Vo> get${entityName}ByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
         }
-        ${entityName}Vo ${entityName?uncap_first}Vo = new ${entityName}Vo();
-        BeanUtils.copyProperties(${entityName?uncap_first}, ${entityName?uncap_first}Vo);
-        return ${entityName?uncap_first}Vo;
+        // 先读缓存，未命中的id合并为一条 IN 查询，再回填缓存
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        Map<Long, ${entityName}Vo> found = new LinkedHashMap<>();
+        Set<Long> misses = new LinkedHashSet<>();
+        for (Long id : ids) {
+            ${entityName}Vo cached = cache == null ? null : cache.get(id, ${entityName}Vo.class);
+            if (cached != null) {
+                found.put(id, cached);
+            } else if (id != null) {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            LambdaQueryWrapper<${entityName}> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.in(${entityName}::getId, misses);
+<#if tableConfig.useBaseEntity>
+            queryWrapper.eq(${entityName}::getDeleted, 0);
+</#if>
+<#if lazyRelations?has_content>
+            List<${entityName}Vo> loaded = this.baseMapper.selectVoList(queryWrapper);
+            loadRelations(loaded);
+            for (${entityName}Vo vo : loaded) {
+<#else>
+            for (${entityName}Vo vo : this.baseMapper.selectVoList(queryWrapper)) {
+</#if>
+                found.put(vo.getId(), vo);
+                if (cache != null) {
+                    cache.put(vo.getId(), vo);
+                }
+            }
+        }
+        // 按传入id的顺序返回，不存在的id跳过
+        List<${entityName}Vo> result = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            ${entityName}Vo vo = found.get(id);
+            if (vo != null) {
+                result.add(vo);
+            }
+        }
+        return result;
+    }
+</#if>
+
+<#if tableConfig.keysetPagination>
+<#assign seekOp = tableConfig.keysetDescending?then("lt", "gt")>
+<#assign orderBy = tableConfig.keysetDescending?then("orderByDesc", "orderByAsc")>
+    @Override
+    public CursorPageResultVO<${entityName}Vo> list${entityName}s(${entityName}QueryDto queryDto) {
+        int pageSize = queryDto.resolvePageSize();
+        LambdaQueryWrapper<${entityName}> queryWrapper = buildQueryWrapper(queryDto);
+<#if keysetColumn?has_content>
+        // 从上一页最后一条记录之后继续读取：(${keysetColumn.javaName}, id) 越过游标，走 (${keysetColumn.javaName}, id) 复合索引
+        String[] cursor = CursorPageResultVO.decodeCursor(queryDto.getCursor(), 2);
+        if (cursor != null) {
+            var lastValue = <@parseCursorValue javaType=keysetColumn.javaType expr="cursor[0]"/>;
+            Long lastId = Long.valueOf(cursor[1]);
+            queryWrapper.and(w -> w.${seekOp}(${entityName}::get${keysetColumn.javaName?cap_first}, lastValue)
+                    .or(o -> o.eq(${entityName}::get${keysetColumn.javaName?cap_first}, lastValue).${seekOp}(${entityName}::getId, lastId)));
+        }
+        queryWrapper.${orderBy}(${entityName}::get${keysetColumn.javaName?cap_first}).${orderBy}(${entityName}::getId);
+<#else>
+        // 从上一页最后一条记录的id之后继续读取，走主键索引
+        String[] cursor = CursorPageResultVO.decodeCursor(queryDto.getCursor(), 1);
+        if (cursor != null) {
+            queryWrapper.${seekOp}(${entityName}::getId, Long.valueOf(cursor[0]));
+        }
+        queryWrapper.${orderBy}(${entityName}::getId);
+</#if>
+        // 多取一条用于判断是否还有下一页
+        queryWrapper.last("LIMIT " + (pageSize + 1));
+<#if rowType == entityName>
+        List<${entityName}> rows = this.list(queryWrapper);
+<#else>
+        List<${entityName}Vo> rows = this.baseMapper.selectVoList(queryWrapper);
+</#if>
+
+        CursorPageResultVO<${entityName}Vo> result = new CursorPageResultVO<>();
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+            ${rowType} last = rows.get(rows.size() - 1);
+            result.setNextCursor(CursorPageResultVO.encodeCursor(<#if keysetColumn?has_content>last.get${keysetColumn.javaName?cap_first}(), </#if>last.getId()));
+        }
+        result.setHasMore(hasMore);
+        result.setRecords(<#if rowType == entityName>${entityName}Converter.toVoList(rows)<#else>rows</#if>);
+<#if lazyRelations?has_content>
+        loadRelations(result.getRecords());
+</#if>
+<#if joinFallbackRelations?has_content>
+        // 实体行没有经过VO的JOIN查询，eager关联同样按页批量加载
+<#list joinFallbackRelations as relation>
+        <@loadRelation relation=relation records="result.getRecords()"/>
+</#list>
+</#if>
+        return result;
+    }
+<#else>
+    @Override
+    public PageResultVO<${entityName}Vo> list${entityName}s(${entityName}QueryDto queryDto) {
+        Page<${entityName}Vo> page = queryDto.toPage();
+        this.baseMapper.selectVoPage(page, buildQueryWrapper(queryDto));
+        PageResultVO<${entityName}Vo> result = new PageResultVO<>(page);
+        result.setRecords(page.getRecords());
+<#if lazyRelations?has_content>
+        loadRelations(result.getRecords());
+</#if>
+        return result;
     }
+</#if>
+<#if tableConfig.exportEnabled>
+<#assign exportFields = ["id"] + tableConfig.columns?map(c -> c.javaName) + tableConfig.useBaseEntity?then(["version", "createTime", "updatedTime"], [])>
 
     @Override
-    public List<${entityName}Vo> list${entityName}s(${entityName}QueryDto queryDto) {
+    @Transactional(readOnly = true)
+    public void export${entityName}s(${entityName}QueryDto queryDto, ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == ExportFormat.CSV) {
+            writer.write("${exportFields?join(",")}\n");
+        }
+        LambdaQueryWrapper<${entityName}> queryWrapper = buildQueryWrapper(queryDto);
+        queryWrapper.orderByAsc(${entityName}::getId);
+        try {
+            this.baseMapper.selectVoStream(queryWrapper, context -> {
+                ${entityName}Vo vo = context.getResultObject();
+                try {
+                    if (format == ExportFormat.CSV) {
+                        writer.write(<#list exportFields as field>ExportFormat.csvCell(vo.get${field?cap_first}())<#sep> + "," + </#sep></#list>);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(vo));
+                    }
+                    writer.write('\n');
+                } catch (IOException e) {
+                    // 客户端断开时中止查询，释放数据库游标
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+</#if>
+
+<#if lazyRelations?has_content>
+    /**
+     * 批量加载一页数据的关联，每个关联只执行一条 IN (...) 查询，不逐行查询；只加载一层，关联数据自身的lazy关联为空
+     */
+    private void loadRelations(List<${entityName}Vo> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+<#list lazyRelations as relation>
+        <@loadRelation relation=relation records="records"/>
+</#list>
+    }
+
+</#if>
+    /**
+     * 根据查询DTO构建查询条件
+     */
+    private LambdaQueryWrapper<${entityName}> buildQueryWrapper(${entityName}QueryDto queryDto) {
         LambdaQueryWrapper<${entityName}> queryWrapper = new LambdaQueryWrapper<>();
+<#if tableConfig.useBaseEntity>
+        // 列表使用mapper XML中的投影查询，逻辑删除条件需要显式加上
+        queryWrapper.eq(${entityName}::getDeleted, 0);
+</#if>
+<#-- 只生成能走索引的条件：等值、前缀LIKE、范围、IN和全文索引，不生成 LIKE '%x%' -->
 <#list tableConfig.columns as column>
-    <#if column.javaType == "String">
-        if (StringUtils.hasText(queryDto.get${column.javaName?cap_first}())) {
-            queryWrapper.like(${entityName}::get${column.javaName?cap_first}, queryDto.get${column.javaName?cap_first}());
+    <#assign getter = "get" + column.javaName?cap_first>
+    <#switch column.resolveSearchMode()>
+    <#case "prefix">
+        if (StringUtils.hasText(queryDto.${getter}())) {
+            queryWrapper.likeRight(${entityName}::${getter}, queryDto.${getter}());
         }
-    <#else>
-        if (queryDto.get${column.javaName?cap_first}() != null) {
-            queryWrapper.eq(${entityName}::get${column.javaName?cap_first}, queryDto.get${column.javaName?cap_first}());
+        <#break>
+    <#case "range">
+        if (queryDto.${getter}From() != null) {
+            queryWrapper.ge(${entityName}::${getter}, queryDto.${getter}From());
         }
-    </#if>
+        if (queryDto.${getter}To() != null) {
+            queryWrapper.le(${entityName}::${getter}, queryDto.${getter}To());
+        }
+        <#break>
+    <#case "in">
+        if (queryDto.${getter}List() != null && !queryDto.${getter}List().isEmpty()) {
+            queryWrapper.in(${entityName}::${getter}, queryDto.${getter}List());
+        }
+        <#break>
+    <#case "fulltext">
+        if (StringUtils.hasText(queryDto.${getter}())) {
+            // 使用 ft_${column.dbName} 全文索引，参数以预编译方式传入
+            queryWrapper.apply("MATCH(`${column.dbName}`) AGAINST({0})", queryDto.${getter}());
+        }
+        <#break>
+    <#case "exact">
+        <#if column.javaType == "String">
+        if (StringUtils.hasText(queryDto.${getter}())) {
+        <#else>
+        if (queryDto.${getter}() != null) {
+        </#if>
+            queryWrapper.eq(${entityName}::${getter}, queryDto.${getter}());
+        }
+        <#break>
+    </#switch>
 </#list>
-
-        List<${entityName}> ${entityName?uncap_first}List = this.list(queryWrapper);
-        return ${entityName?uncap_first}List.stream()
-                .map(${entityName?uncap_first} -> {
-                    ${entityName}Vo ${entityName?uncap_first}Vo = new ${entityName}Vo();
-                    BeanUtils.copyProperties(${entityName?uncap_first}, ${entityName?uncap_first}Vo);
-                    return ${entityName?uncap_first}Vo;
-                })
-                .collect(Collectors.toList());
+        return queryWrapper;
     }
 
     @Override
+    <@cacheEvict key="#p0.id"/>
     public void update${entityName}NoVersion(${entityName}UpdateDto ${entityName?uncap_first}Dto) {
         LambdaUpdateWrapper<${entityName}> updateWrapper = new LambdaUpdateWrapper<>();
         updateWrapper.eq(${entityName}::getId, ${entityName?uncap_first}Dto.getId());
 
+        // 只修改不为null的字段，未传的字段不会被覆盖为null
 <#list tableConfig.columns as column>
     <#if column.javaName != "id" && column.javaName != "version">
-        updateWrapper.set(${entityName}::get${column.javaName?cap_first}, ${entityName?uncap_first}Dto.get${column.javaName?cap_first}());
+        updateWrapper.set(${entityName?uncap_first}Dto.get${column.javaName?cap_first}() != null, ${entityName}::get${column.javaName?cap_first}, ${entityName?uncap_first}Dto.get${column.javaName?cap_first}());
     </#if>
 </#list>
-        
+        if (!StringUtils.hasText(updateWrapper.getSqlSet())) {
+            return;
+        }
         this.update(updateWrapper);
     }
 }
+<#-- 把游标中的字符串还原为排序字段的类型 -->
+<#macro parseCursorValue javaType expr><#compress>
+<#switch javaType>
+<#case "Long">Long.valueOf(${expr})<#break>
+<#case "Integer">Integer.valueOf(${expr})<#break>
+<#case "Double">Double.valueOf(${expr})<#break>
+<#case "Float">Float.valueOf(${expr})<#break>
+<#case "Boolean">Boolean.valueOf(${expr})<#break>
+<#case "BigDecimal">new java.math.BigDecimal(${expr})<#break>
+<#case "LocalDateTime">java.time.LocalDateTime.parse(${expr})<#break>
+<#case "LocalDate">java.time.LocalDate.parse(${expr})<#break>
+<#default>${expr}
+</#switch>
+</#compress></#macro>
+<#-- 按 IN (...) 批量加载一个关联并回填到records中的每个VO -->
+<#macro loadRelation relation records>
+<#local targetTable = relation.targetTable>
+<#local targetMapper = relation.target?uncap_first + "Mapper">
+<#local fkGetter = "get" + relation.foreignKey?cap_first>
+<#local setter = "set" + relation.name?cap_first>
+<#if relation.manyToOne>
+        // ${relation.name}：收集整页的 ${relation.foreignKey}，按主键一次查出${relation.target}
+        Set<Long> ${relation.name}Ids = ${records}.stream().map(${entityName}Vo::${fkGetter}).filter(Objects::nonNull).collect(Collectors.toSet());
+        if (!${relation.name}Ids.isEmpty()) {
+            LambdaQueryWrapper<${relation.target}> ${relation.name}Query = new LambdaQueryWrapper<${relation.target}>().in(${relation.target}::getId, ${relation.name}Ids);
+<#if targetTable.useBaseEntity>
+            ${relation.name}Query.eq(${relation.target}::getDeleted, 0);
+</#if>
+            Map<Long, ${relation.target}Vo> ${relation.name}ById = ${targetMapper}.selectVoList(${relation.name}Query).stream()
+                    .collect(Collectors.toMap(${relation.target}Vo::getId, Function.identity()));
+            ${records}.forEach(vo -> vo.${setter}(${relation.name}ById.get(vo.${fkGetter}())));
+        }
+<#else>
+        // ${relation.name}：按 ${relation.target}.${relation.foreignKey} IN (整页的id) 一次查出，再按外键分组
+        Set<Long> ${relation.name}ParentIds = ${records}.stream().map(${entityName}Vo::getId).collect(Collectors.toSet());
+        LambdaQueryWrapper<${relation.target}> ${relation.name}Query = new LambdaQueryWrapper<${relation.target}>()
+                .in(${relation.target}::${fkGetter}, ${relation.name}ParentIds).orderByAsc(${relation.target}::getId);
+<#if targetTable.useBaseEntity>
+        ${relation.name}Query.eq(${relation.target}::getDeleted, 0);
+</#if>
+        Map<Long, List<${relation.target}Vo>> ${relation.name}ByParent = ${targetMapper}.selectVoList(${relation.name}Query).stream()
+                .collect(Collectors.groupingBy(${relation.target}Vo::${fkGetter}));
+        ${records}.forEach(vo -> vo.${setter}(${relation.name}ByParent.getOrDefault(vo.getId(), new ArrayList<>())));
+</#if>
+</#macro>
+<#-- 写方法的缓存失效：key或allEntries失效本表缓存，另外清空VO中包含本表数据的其他表的缓存 -->
+<#macro cacheEvict key="" allEntries=false>
+<#local own = tableConfig.cacheEnabled && (key?has_content || allEntries)>
+<#local dependents = "{" + dependentCaches?map(name -> "\"" + name + "\"")?join(", ") + "}">
+<#local ownEvict = "@CacheEvict(cacheNames = CACHE_NAME, " + key?has_content?then("key = \"" + key + "\"", "allEntries = true") + ")">
+<#if own && dependentCaches?has_content>
+    @Caching(evict = {
+            ${ownEvict},
+            @CacheEvict(cacheNames = ${dependents}, allEntries = true)
+    })
+<#elseif own>
+    ${ownEvict}
+<#elseif dependentCaches?has_content>
+    @CacheEvict(cacheNames = ${dependents}, allEntries = true)
+</#if>
+</#macro>
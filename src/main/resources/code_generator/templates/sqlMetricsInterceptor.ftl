@@ -0,0 +1,73 @@
+package ${templateConfig.packageInfo};
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description: 按mapper语句记录SQL耗时直方图（mybatis.statement，标签statement/type/outcome），
+ * 超过阈值的语句打印WARN日志。流式查询（带ResultHandler）的耗时包含逐行处理时间，只记录指标不打印慢SQL
+ * @Author: Code Generator By Shawn Wang
+ * @Date: ${.now?string["yyyy-MM-dd HH:mm:ss"]}
+ */
+@Slf4j
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class SqlMetricsInterceptor implements Interceptor {
+
+    private static final String METRIC_NAME = "mybatis.statement";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryThresholdMs;
+
+    public SqlMetricsInterceptor(MeterRegistry meterRegistry, long slowQueryThresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThresholdMs = slowQueryThresholdMs;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        String outcome = "success";
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder(METRIC_NAME)
+                    .description("MyBatis mapper statement latency")
+                    .tag("statement", ms.getId())
+                    .tag("type", ms.getSqlCommandType().name())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            boolean streaming = args.length > 3 && args[3] != null;
+            if (elapsedMs >= slowQueryThresholdMs && !streaming) {
+                BoundSql boundSql = args.length > 5 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+                log.warn("Slow SQL [{}] took {}ms: {}", ms.getId(), elapsedMs, boundSql.getSql().replaceAll("\\s+", " "));
+            }
+        }
+    }
+}
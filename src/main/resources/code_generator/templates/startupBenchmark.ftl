@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# ${moduleName} 启动耗时基准
+# 分别以 普通jar / AppCDS / AppCDS+AOT 三种方式启动到Spring上下文刷新完成后立即退出（spring.context.exit=onRefresh），
+# 每种方式运行 RUNS 次取平均值，不需要监听端口。
+# 用法：先执行 mvn package（会生成 target/app 下的解压jar和CDS归档），再执行 ./startup-benchmark.sh [RUNS]
+<#noparse>
+set -euo pipefail
+
+RUNS=${1:-5}
+APP_DIR=target/app
+ARCHIVE="$APP_DIR/application.jsa"
+JAR=$(ls "$APP_DIR"/*.jar 2>/dev/null | head -n 1 || true)
+if [ -z "$JAR" ]; then
+  echo "No extracted jar found in $APP_DIR, run 'mvn package' first." >&2
+  exit 1
+fi
+
+measure() {
+  local name=$1
+  shift
+  local total=0
+  for _ in $(seq "$RUNS"); do
+    local start end
+    start=$(date +%s%N)
+    java "$@" -Dspring.profiles.active=prod -Dspring.context.exit=onRefresh -jar "$JAR" > /dev/null 2>&1
+    end=$(date +%s%N)
+    total=$((total + (end - start) / 1000000))
+  done
+  printf '%-10s %6d ms\n' "$name" $((total / RUNS))
+}
+
+echo "Startup time to context refreshed, average of $RUNS runs:"
+measure "jar"
+if [ -f "$ARCHIVE" ]; then
+  measure "cds" -XX:SharedArchiveFile="$ARCHIVE"
+  measure "cds+aot" -XX:SharedArchiveFile="$ARCHIVE" -Dspring.aot.enabled=true
+else
+  echo "No CDS archive at $ARCHIVE, skipped cds runs."
+fi
+</#noparse>
@@ -9,12 +9,18 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+<#if startup.fastStartup>
+import org.springframework.context.annotation.Profile;
+</#if>
 
 /**
 * Swagger/OpenAPI配置类
 * 只有当 project.api-docs.type 属性为 'swagger' 或 'all' 时才启用
 */
 @Configuration
+<#if startup.fastStartup>
+@Profile("!prod")
+</#if>
 @ConditionalOnProperty(name = "project.api-docs.type", havingValue = "swagger", matchIfMissing = false)
 @SecurityScheme(name = "basicAuth", type = SecuritySchemeType.HTTP, scheme = "basic")
 public class SwaggerConfig {
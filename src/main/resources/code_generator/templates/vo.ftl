@@ -6,6 +6,9 @@ import lombok.experimental.Accessors;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.math.BigDecimal;
+<#if tableConfig.relations?has_content>
+import java.util.List;
+</#if>
 
 /**
  * @Description: ${entityName}返回视图对象VO
@@ -48,4 +51,12 @@ public class ${entityName}Vo {
      */
     @Schema(description = "更新时间")
     private LocalDateTime updatedTime;
+<#list tableConfig.relations as relation>
+
+    /**
+     * 关联的${relation.target}（${relation.eager?then("查询时LEFT JOIN", "按页批量加载")}）
+     */
+    @Schema(description = "关联的${relation.target}")
+    private <#if relation.manyToOne>${relation.target}Vo<#else>List<${relation.target}Vo></#if> ${relation.name};
+</#list>
 }
@@ -3,6 +3,9 @@ package ${templateConfig.packageInfo};
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+<#if startup.fastStartup>
+import org.springframework.context.annotation.Profile;
+</#if>
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.userdetails.User;
@@ -16,6 +19,9 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 * Spring Security配置，用于保护Swagger UI接口
 */
 @Configuration
+<#if startup.fastStartup>
+@Profile("!prod")
+</#if>
 public class WebSecurityConfig {
 
 <#noparse>
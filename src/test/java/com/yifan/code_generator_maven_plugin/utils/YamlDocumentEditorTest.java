@@ -0,0 +1,96 @@
+package com.yifan.code_generator_maven_plugin.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YamlDocumentEditorTest {
+
+    private static final String LITERAL_BLOCK = "a:\n  b: |\n    line1\n    line2\nc: 1\n";
+    private static final String FOLDED_BLOCK = "a:\n  b: >\n    line1\n    line2\nc: 1\n";
+
+    @Test
+    void setInsertsAfterLiteralBlockScalar() {
+        YamlDocumentEditor editor = new YamlDocumentEditor(LITERAL_BLOCK);
+        assertTrue(editor.set(2, "a", "x"));
+        assertEquals("a:\n  b: |\n    line1\n    line2\n  x: 2\nc: 1\n", editor.getText());
+    }
+
+    @Test
+    void setInsertsAfterFoldedBlockScalar() {
+        YamlDocumentEditor editor = new YamlDocumentEditor(FOLDED_BLOCK);
+        assertTrue(editor.set(2, "a", "x"));
+        assertEquals("a:\n  b: >\n    line1\n    line2\n  x: 2\nc: 1\n", editor.getText());
+    }
+
+    @Test
+    void setInsertsTopLevelKeyAfterTrailingBlockScalar() {
+        YamlDocumentEditor editor = new YamlDocumentEditor("a: 1\nb: |\n  text\n");
+        assertTrue(editor.set(2, "c"));
+        assertEquals("a: 1\nb: |\n  text\nc: 2\n", editor.getText());
+    }
+
+    @Test
+    void setIfAbsentInsertsAfterBlockScalar() {
+        YamlDocumentEditor editor = new YamlDocumentEditor(LITERAL_BLOCK);
+        assertTrue(editor.setIfAbsent(2, "a", "x"));
+        assertFalse(editor.setIfAbsent(3, "a", "x"));
+        assertEquals("a:\n  b: |\n    line1\n    line2\n  x: 2\nc: 1\n", editor.getText());
+    }
+
+    @Test
+    void removeIfEqualsKeepsSiblingAfterBlockScalar() {
+        YamlDocumentEditor editor = new YamlDocumentEditor(LITERAL_BLOCK);
+        assertTrue(editor.removeIfEquals("line1\nline2\n", "a", "b"));
+        assertEquals("c: 1\n", editor.getText());
+    }
+
+    @Test
+    void removeIfEqualsKeepsSiblingAfterFoldedBlockScalar() {
+        YamlDocumentEditor editor = new YamlDocumentEditor("a:\n  x: 1\n  b: >\n    text\nc: 1\n");
+        assertTrue(editor.removeIfEquals("text\n", "a", "b"));
+        assertEquals("a:\n  x: 1\nc: 1\n", editor.getText());
+    }
+
+    @Test
+    void setInsertsAfterFlowSequence() {
+        YamlDocumentEditor editor = new YamlDocumentEditor("a:\n  b: [1, 2]\nc: 1\n");
+        assertTrue(editor.set(2, "a", "x"));
+        assertEquals("a:\n  b: [1, 2]\n  x: 2\nc: 1\n", editor.getText());
+    }
+
+    @Test
+    void setInsertsAfterMultiLineFlowMapping() {
+        YamlDocumentEditor editor = new YamlDocumentEditor("a:\n  b: {\n    k: v\n  }\nc: 1\n");
+        assertTrue(editor.set(2, "a", "x"));
+        assertEquals("a:\n  b: {\n    k: v\n  }\n  x: 2\nc: 1\n", editor.getText());
+    }
+
+    @Test
+    void setIfAbsentInsertsAfterFlowMapping() {
+        YamlDocumentEditor editor = new YamlDocumentEditor("a:\n  b: {k: v}\nc: 1\n");
+        assertTrue(editor.setIfAbsent(2, "a", "x"));
+        assertEquals("a:\n  b: {k: v}\n  x: 2\nc: 1\n", editor.getText());
+    }
+
+    @Test
+    void removeIfEqualsRemovesMultiLineFlowValueOnly() {
+        YamlDocumentEditor editor = new YamlDocumentEditor("a:\n  x: 1\n  b: [1,\n    2]\nc: 1\n");
+        assertTrue(editor.removeIfEquals(1, "a", "x"));
+        assertEquals("a:\n  b: [1,\n    2]\nc: 1\n", editor.getText());
+    }
+
+    @Test
+    void setRejectsFlowMappingParent() {
+        YamlDocumentEditor editor = new YamlDocumentEditor("a: {b: 1}\n");
+        assertThrows(IllegalStateException.class, () -> editor.set(2, "a", "x"));
+    }
+
+    @Test
+    void setReplacesScalarInPlace() {
+        YamlDocumentEditor editor = new YamlDocumentEditor("# comment\na:\n  b: 1 # keep\nc: 1\n");
+        assertTrue(editor.set(2, "a", "b"));
+        assertFalse(editor.set(2, "a", "b"));
+        assertEquals("# comment\na:\n  b: 2 # keep\nc: 1\n", editor.getText());
+    }
+}